@@ -0,0 +1,45 @@
+package org.codehaus.plexus.components.io.attributes;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The attributes, which are read for a file. Lower levels read fewer attribute views, and thus
+ * need fewer system calls, and less memory per file. Attributes, which aren't read, are unknown:
+ * The ids are null, and the mode is {@link PlexusIoResourceAttributes#UNKNOWN_OCTAL_MODE}.
+ * Resource collections apply their override, and default attributes at every level.
+ *
+ * @since 3.8.0
+ */
+public enum AttributeDetail {
+    /**
+     * The type, size, and modification time of the file. The type is required to tell files from
+     * directories, and the size, and modification time are read along with it, so there is no
+     * cheaper level.
+     */
+    BASIC,
+
+    /**
+     * The basic attributes, and the numeric user, and group ids, and the mode. User, and group
+     * names are never looked up.
+     */
+    POSIX_NUMERIC,
+
+    /**
+     * All attributes, including the user, and group names, which are looked up, when requested.
+     */
+    FULL
+}
@@ -0,0 +1,395 @@
+package org.codehaus.plexus.components.io.attributes;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deduplicates resource attributes, so that the resources of a collection, which have the same
+ * user, group, and mode, share a single attributes object. Interned attributes are only weakly
+ * referenced by the interner, and can't be modified: Their setters throw an
+ * {@link UnsupportedOperationException}.
+ * <p>
+ * The interner also memoizes {@link PlexusIoResourceAttributeUtils#mergeAttributes merging}: As
+ * long as the override, and default attributes remain the same, merging base attributes, which
+ * are equal to those of a previous merge, returns the previous result without merging again. The
+ * override, and default attributes are only weakly referenced by the memo, so it doesn't keep the
+ * attributes of collections, which are no longer used.
+ * <p>
+ * Instances of {@link FileAttributes} carry the size, and modification time of a particular file,
+ * so they are never shared themselves: {@link #intern(PlexusIoResourceAttributes) Interning} them
+ * returns them as they are. Merging them only takes their user, group, and mode, and returns
+ * shared attributes, which don't carry the size, and modification time, as resources keep their
+ * file attributes anyway. The user, and group names of the file are thus resolved, when they are
+ * merged.
+ *
+ * @since 3.8.0
+ */
+public class AttributeInterner {
+    private static final AttributeInterner GLOBAL = new AttributeInterner();
+
+    /**
+     * The maximum number of memoized merges. The memo is cleared, if it grows larger.
+     */
+    private static final int MAX_MERGES = 1024;
+
+    private final Map<Tuple, WeakReference<InternedResourceAttributes>> pool = new WeakHashMap<>();
+
+    private final Map<MergeKey, Merge> merges = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<PlexusIoResourceAttributes> collected = new ReferenceQueue<>();
+
+    public AttributeInterner() {}
+
+    /**
+     * Returns the interner, which is shared by all collections, that don't use their own.
+     */
+    public static AttributeInterner getGlobal() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the shared attributes, which are equal to the given ones.
+     * @param attributes The attributes, or null
+     * @return The shared attributes, or the given attributes, if they are null, or an instance of
+     *   {@link FileAttributes}
+     */
+    public PlexusIoResourceAttributes intern(PlexusIoResourceAttributes attributes) {
+        if (attributes == null || attributes instanceof FileAttributes) {
+            return attributes;
+        }
+        final Tuple tuple = new Tuple(attributes);
+        synchronized (pool) {
+            final WeakReference<InternedResourceAttributes> ref = pool.get(tuple);
+            InternedResourceAttributes interned = ref == null ? null : ref.get();
+            if (interned == null) {
+                interned = new InternedResourceAttributes(tuple);
+                // Replace the stale key, which is no longer referenced by the attributes
+                pool.remove(tuple);
+                pool.put(interned.tuple, new WeakReference<>(interned));
+            }
+            return interned;
+        }
+    }
+
+    /**
+     * Merges the given attributes like {@link PlexusIoResourceAttributeUtils#mergeAttributes}, and
+     * returns the shared result. If the base attributes are {@link FileAttributes}, the result
+     * only has their user, group, and mode, but not their size, and modification time.
+     */
+    public PlexusIoResourceAttributes merge(
+            PlexusIoResourceAttributes override, PlexusIoResourceAttributes base, PlexusIoResourceAttributes def) {
+        if (override == null) {
+            return PlexusIoResourceAttributeUtils.mergeAttributes(null, base, def);
+        }
+        final Tuple baseTuple = base == null ? null : new Tuple(base);
+        final Merge previous = merges.get(new LookupKey(override, def, baseTuple));
+        if (previous != null && previous.override.matches(override) && Tuple.matches(previous.def, def)) {
+            return previous.result;
+        }
+        final PlexusIoResourceAttributes values = base instanceof FileAttributes ? baseTuple.toAttributes() : base;
+        final PlexusIoResourceAttributes result =
+                intern(PlexusIoResourceAttributeUtils.mergeAttributes(override, values, def));
+        expungeCollected();
+        if (merges.size() >= MAX_MERGES) {
+            merges.clear();
+        }
+        merges.put(
+                new StoredKey(override, def, baseTuple, collected),
+                new Merge(new Tuple(override), def == null ? null : new Tuple(def), result));
+        return result;
+    }
+
+    /**
+     * Removes the memoized merges, whose override, or default attributes have been collected.
+     */
+    private void expungeCollected() {
+        for (Reference<?> ref = collected.poll(); ref != null; ref = collected.poll()) {
+            merges.remove(((KeyReference) ref).key);
+        }
+    }
+
+    /**
+     * The values of a set of attributes.
+     */
+    private static final class Tuple {
+        final Integer userId;
+
+        final String userName;
+
+        final Integer groupId;
+
+        final String groupName;
+
+        final int mode;
+
+        final boolean symbolicLink;
+
+        Tuple(PlexusIoResourceAttributes attributes) {
+            userId = attributes.getUserId();
+            userName = attributes.getUserName();
+            groupId = attributes.getGroupId();
+            groupName = attributes.getGroupName();
+            mode = attributes.getOctalMode();
+            symbolicLink = attributes.isSymbolicLink();
+        }
+
+        boolean matches(PlexusIoResourceAttributes attributes) {
+            return mode == attributes.getOctalMode()
+                    && symbolicLink == attributes.isSymbolicLink()
+                    && Objects.equals(userId, attributes.getUserId())
+                    && Objects.equals(groupId, attributes.getGroupId())
+                    && Objects.equals(userName, attributes.getUserName())
+                    && Objects.equals(groupName, attributes.getGroupName());
+        }
+
+        PlexusIoResourceAttributes toAttributes() {
+            return new SimpleResourceAttributes(userId, userName, groupId, groupName, mode, symbolicLink);
+        }
+
+        static boolean matches(Tuple tuple, PlexusIoResourceAttributes attributes) {
+            return tuple == null ? attributes == null : attributes != null && tuple.matches(attributes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Tuple)) {
+                return false;
+            }
+            final Tuple other = (Tuple) o;
+            return mode == other.mode
+                    && symbolicLink == other.symbolicLink
+                    && Objects.equals(userId, other.userId)
+                    && Objects.equals(groupId, other.groupId)
+                    && Objects.equals(userName, other.userName)
+                    && Objects.equals(groupName, other.groupName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, userName, groupId, groupName, mode, symbolicLink);
+        }
+    }
+
+    /**
+     * Identifies a merge by the identity of the override, and default attributes, and the values of
+     * the base attributes.
+     */
+    private abstract static class MergeKey {
+        final Tuple base;
+
+        private final int hash;
+
+        MergeKey(PlexusIoResourceAttributes override, PlexusIoResourceAttributes def, Tuple base) {
+            this.base = base;
+            this.hash = (System.identityHashCode(override) * 31 + System.identityHashCode(def)) * 31
+                    + Objects.hashCode(base);
+        }
+
+        /**
+         * Returns the override attributes, or null, if they have been collected.
+         */
+        abstract PlexusIoResourceAttributes getOverride();
+
+        /**
+         * Returns the default attributes, which may be null.
+         * @return The default attributes, or null
+         */
+        abstract PlexusIoResourceAttributes getDefault();
+
+        /**
+         * Returns, whether the default attributes have been collected.
+         */
+        abstract boolean isDefaultCollected();
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MergeKey)) {
+                return false;
+            }
+            final MergeKey other = (MergeKey) o;
+            if (hash != other.hash || isDefaultCollected() || other.isDefaultCollected()) {
+                return false;
+            }
+            final PlexusIoResourceAttributes override = getOverride();
+            return override != null
+                    && override == other.getOverride()
+                    && getDefault() == other.getDefault()
+                    && Objects.equals(base, other.base);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The key, which is used to look up a merge.
+     */
+    private static final class LookupKey extends MergeKey {
+        private final PlexusIoResourceAttributes override;
+
+        private final PlexusIoResourceAttributes def;
+
+        LookupKey(PlexusIoResourceAttributes override, PlexusIoResourceAttributes def, Tuple base) {
+            super(override, def, base);
+            this.override = override;
+            this.def = def;
+        }
+
+        @Override
+        PlexusIoResourceAttributes getOverride() {
+            return override;
+        }
+
+        @Override
+        PlexusIoResourceAttributes getDefault() {
+            return def;
+        }
+
+        @Override
+        boolean isDefaultCollected() {
+            return false;
+        }
+    }
+
+    /**
+     * The key of a memoized merge, which references the override, and default attributes weakly.
+     */
+    private static final class StoredKey extends MergeKey {
+        private final KeyReference override;
+
+        private final KeyReference def;
+
+        StoredKey(
+                PlexusIoResourceAttributes override,
+                PlexusIoResourceAttributes def,
+                Tuple base,
+                ReferenceQueue<PlexusIoResourceAttributes> queue) {
+            super(override, def, base);
+            this.override = new KeyReference(override, this, queue);
+            this.def = def == null ? null : new KeyReference(def, this, queue);
+        }
+
+        @Override
+        PlexusIoResourceAttributes getOverride() {
+            return override.get();
+        }
+
+        @Override
+        PlexusIoResourceAttributes getDefault() {
+            return def == null ? null : def.get();
+        }
+
+        @Override
+        boolean isDefaultCollected() {
+            return def != null && def.get() == null;
+        }
+    }
+
+    private static final class KeyReference extends WeakReference<PlexusIoResourceAttributes> {
+        final StoredKey key;
+
+        KeyReference(
+                PlexusIoResourceAttributes referent, StoredKey key, ReferenceQueue<PlexusIoResourceAttributes> queue) {
+            super(referent, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * The result of a merge, and the values of the override, and default attributes, it has been
+     * computed from. The result is stale, if those attributes have been modified since.
+     */
+    private static final class Merge {
+        final Tuple override;
+
+        final Tuple def;
+
+        final PlexusIoResourceAttributes result;
+
+        Merge(Tuple override, Tuple def, PlexusIoResourceAttributes result) {
+            this.override = override;
+            this.def = def;
+            this.result = result;
+        }
+    }
+
+    /**
+     * Attributes, which are shared by the resources, and thus can't be modified.
+     */
+    private static final class InternedResourceAttributes extends SimpleResourceAttributes {
+        final Tuple tuple;
+
+        InternedResourceAttributes(Tuple tuple) {
+            super(tuple.userId, tuple.userName, tuple.groupId, tuple.groupName, tuple.mode, tuple.symbolicLink);
+            this.tuple = tuple;
+        }
+
+        @Override
+        public PlexusIoResourceAttributes setOctalMode(int mode) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public PlexusIoResourceAttributes setGroupId(Integer gid) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public PlexusIoResourceAttributes setGroupName(String name) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public PlexusIoResourceAttributes setUserId(Integer uid) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public PlexusIoResourceAttributes setUserName(String name) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public PlexusIoResourceAttributes setOctalModeString(String mode) {
+            throw unmodifiable();
+        }
+
+        @Override
+        public void setSymbolicLink(boolean isSymbolicLink) {
+            throw unmodifiable();
+        }
+
+        private static UnsupportedOperationException unmodifiable() {
+            return new UnsupportedOperationException("Interned attributes can't be modified");
+        }
+    }
+}
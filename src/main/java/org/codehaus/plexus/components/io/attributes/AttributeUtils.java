@@ -20,6 +20,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
@@ -27,14 +28,36 @@
 import java.nio.file.attribute.FileOwnerAttributeView;
 import java.nio.file.attribute.PosixFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * @author Kristian Rosenvold
  */
 @SuppressWarnings("OctalInteger")
 public class AttributeUtils {
+    /**
+     * The permissions of each mode, indexed by the mode. The permissions are declared in the order
+     * of the mode bits, so the mode bit of a permission is {@code 0400 >> ordinal()}.
+     */
+    private static final EnumSet<PosixFilePermission>[] PERMISSION_SETS = createPermissionSets();
+
+    @SuppressWarnings("unchecked")
+    private static final Set<PosixFilePermission>[] UNMODIFIABLE_PERMISSION_SETS =
+            Arrays.stream(PERMISSION_SETS).map(Collections::unmodifiableSet).toArray(Set[]::new);
+
     /*
     Reads last-modified with proper failure handling if something goes wrong.
      */
@@ -50,44 +73,124 @@ public static long getLastModified(@Nonnull File file) {
     public static void chmod(@Nonnull File file, int mode) throws IOException {
         final Path path = file.toPath();
         if (!Files.isSymbolicLink(path)) {
-            Files.setPosixFilePermissions(path, getPermissions(mode));
+            Files.setPosixFilePermissions(path, getPermissionSet(mode));
         }
     }
 
-    @Nonnull
-    public static Set<PosixFilePermission> getPermissions(int mode) {
-        Set<PosixFilePermission> perms = new HashSet<>();
-        // add owners permission
-        if ((mode & 0400) > 0) {
-            perms.add(PosixFilePermission.OWNER_READ);
-        }
-        if ((mode & 0200) > 0) {
-            perms.add(PosixFilePermission.OWNER_WRITE);
-        }
-        if ((mode & 0100) > 0) {
-            perms.add(PosixFilePermission.OWNER_EXECUTE);
-        }
-        // add group permissions
-        if ((mode & 0040) > 0) {
-            perms.add(PosixFilePermission.GROUP_READ);
-        }
-        if ((mode & 0020) > 0) {
-            perms.add(PosixFilePermission.GROUP_WRITE);
+    /**
+     * Applies the given modes like {@link #chmod(File, int)}, skipping symbolic links. All files are
+     * processed, even if some of them fail.
+     * @param modes The files, and their modes
+     * @param parallelism The maximum number of files, which are processed concurrently, at least 1
+     * @throws IOException The first failure, with the others, if any, as suppressed exceptions
+     * @since 3.8.0
+     */
+    public static void chmod(@Nonnull Map<File, Integer> modes, int parallelism) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, got " + parallelism);
         }
-        if ((mode & 0010) > 0) {
-            perms.add(PosixFilePermission.GROUP_EXECUTE);
+        final AtomicReference<IOException> failure = new AtomicReference<>();
+        final Consumer<Map.Entry<File, Integer>> action = entry -> {
+            try {
+                chmod(entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                if (!failure.compareAndSet(null, e)) {
+                    failure.get().addSuppressed(e);
+                }
+            }
+        };
+        if (parallelism == 1 || modes.size() < 2) {
+            modes.entrySet().forEach(action);
+        } else {
+            final List<Map.Entry<File, Integer>> entries = new ArrayList<>(modes.entrySet());
+            final int threads = Math.min(parallelism, entries.size());
+            // Each thread takes the next file, until all files are taken
+            final AtomicInteger next = new AtomicInteger();
+            final ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+                final Thread thread = new Thread(runnable, "plexus-io-chmod");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                final List<Future<?>> workers = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++) {
+                    workers.add(executor.submit(() -> {
+                        int index;
+                        while ((index = next.getAndIncrement()) < entries.size()) {
+                            action.accept(entries.get(index));
+                        }
+                    }));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while changing file modes");
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            } finally {
+                // Stops the other threads, if one of them failed
+                next.set(entries.size());
+                executor.shutdown();
+            }
         }
-        // add others permissions
-        if ((mode & 0004) > 0) {
-            perms.add(PosixFilePermission.OTHERS_READ);
+        if (failure.get() != null) {
+            throw failure.get();
         }
-        if ((mode & 0002) > 0) {
-            perms.add(PosixFilePermission.OTHERS_WRITE);
+    }
+
+    /**
+     * Returns the permissions of the given mode. The set may be modified by the caller.
+     * @see #getPermissionSet(int)
+     */
+    @Nonnull
+    public static Set<PosixFilePermission> getPermissions(int mode) {
+        return PERMISSION_SETS[mode & 0777].clone();
+    }
+
+    /**
+     * Returns the permissions of the given mode. Unlike {@link #getPermissions(int)}, this doesn't
+     * create a set: The returned set is shared, and can't be modified.
+     * @since 3.8.0
+     */
+    @Nonnull
+    public static Set<PosixFilePermission> getPermissionSet(int mode) {
+        return UNMODIFIABLE_PERMISSION_SETS[mode & 0777];
+    }
+
+    /**
+     * Returns the mode, which has the given permissions. This is the inverse of
+     * {@link #getPermissions(int)}.
+     * @since 3.8.0
+     */
+    public static int getOctalMode(@Nonnull Set<PosixFilePermission> permissions) {
+        int mode = 0;
+        for (PosixFilePermission permission : permissions) {
+            mode |= 0400 >> permission.ordinal();
         }
-        if ((mode & 0001) > 0) {
-            perms.add(PosixFilePermission.OTHERS_EXECUTE);
+        return mode;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static EnumSet<PosixFilePermission>[] createPermissionSets() {
+        final EnumSet<PosixFilePermission>[] sets = new EnumSet[01000];
+        for (int mode = 0; mode < sets.length; mode++) {
+            sets[mode] = EnumSet.noneOf(PosixFilePermission.class);
+            for (PosixFilePermission permission : PosixFilePermission.values()) {
+                if ((mode & (0400 >> permission.ordinal())) != 0) {
+                    sets[mode].add(permission);
+                }
+            }
         }
-        return perms;
+        return sets;
     }
 
     @Nonnull
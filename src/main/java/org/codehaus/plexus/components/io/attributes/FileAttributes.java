@@ -22,10 +22,14 @@
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
 import java.security.Principal;
 import java.util.Collections;
@@ -33,6 +37,7 @@
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /*
  * File attributes
@@ -43,38 +48,112 @@ public class FileAttributes implements PlexusIoResourceAttributes {
 
     public static final LinkOption[] NOFOLLOW_LINK_OPTIONS = new LinkOption[] {LinkOption.NOFOLLOW_LINKS};
 
-    @Nullable
-    private final Integer groupId;
+    /**
+     * Stands for an unknown user, or group id.
+     */
+    private static final int NO_ID = Integer.MIN_VALUE;
 
-    @Nullable
-    private final String groupName;
+    private static final int SYMBOLIC_LINK = 1;
+
+    private static final int REGULAR_FILE = 2;
+
+    private static final int DIRECTORY = 4;
+
+    private static final int OTHER = 8;
+
+    /**
+     * The user and group names, which have been seen so far, so that all attributes share the same instances.
+     */
+    private static final Map<String, String> PRINCIPAL_NAMES = new ConcurrentHashMap<>();
+
+    private final int groupId;
 
     @Nullable
-    private final Integer userId;
+    private String groupName;
 
-    private final String userName;
+    /**
+     * Resolves the group name, when it is first requested, or null, if it has been resolved.
+     */
+    private volatile Supplier<String> groupNameResolver;
 
-    private final boolean symbolicLink;
+    private final int userId;
 
-    private final boolean regularFile;
+    private String userName;
 
-    private final boolean directory;
+    /**
+     * Resolves the user name, when it is first requested, or null, if it has been resolved.
+     */
+    private volatile Supplier<String> userNameResolver;
 
-    private final boolean other;
+    /**
+     * The type flags: {@link #SYMBOLIC_LINK}, {@link #REGULAR_FILE}, {@link #DIRECTORY}, and {@link #OTHER}.
+     */
+    private final byte flags;
 
     private final int octalMode;
 
-    private final Set<PosixFilePermission> permissions;
+    /**
+     * The permissions as mode bits, bit 8 being {@link PosixFilePermission#OWNER_READ}, bit 0
+     * {@link PosixFilePermission#OTHERS_EXECUTE}. Unlike the octal mode, these are the permissions
+     * of the file itself, even if the octal mode has been overridden.
+     */
+    private final short permissions;
 
     private final long size;
 
     private final FileTime lastModifiedTime;
 
-    private static final Map<FileSystem, Map<Integer, String>> UIDS_CACHE =
-            Collections.synchronizedMap(new WeakHashMap<>());
+    /**
+     * How the attributes of the files in a file system are read.
+     */
+    private enum ReadPlan {
+        /**
+         * The unix view, which is the only one to provide the numeric ids, and the mode.
+         */
+        UNIX,
+        /**
+         * The typed posix view.
+         */
+        POSIX,
+        /**
+         * The typed basic view, and the owner view for the user name.
+         */
+        BASIC_WITH_OWNER,
+        /**
+         * The typed basic view only.
+         */
+        BASIC;
+
+        static ReadPlan of(FileSystem fileSystem) {
+            Set<String> views = fileSystem.supportedFileAttributeViews();
+            if (views.contains("unix")) {
+                return UNIX;
+            } else if (views.contains("posix")) {
+                return POSIX;
+            } else if (views.contains("owner")) {
+                return BASIC_WITH_OWNER;
+            } else {
+                return BASIC;
+            }
+        }
+    }
+
+    private static final String UNIX_ATTRIBUTES =
+            "unix:gid,uid,isSymbolicLink,isRegularFile,isDirectory,isOther,mode,size,lastModifiedTime";
+
+    private static final FileSystem DEFAULT_FILE_SYSTEM = FileSystems.getDefault();
+
+    private static final ReadPlan DEFAULT_READ_PLAN = ReadPlan.of(DEFAULT_FILE_SYSTEM);
+
+    private static final Map<FileSystem, ReadPlan> READ_PLANS = Collections.synchronizedMap(new WeakHashMap<>());
 
-    private static final Map<FileSystem, Map<Integer, String>> GIDS_CACHE =
-            Collections.synchronizedMap(new WeakHashMap<>());
+    private static final PrincipalCache DEFAULT_USERS = new PrincipalCache();
+
+    private static final PrincipalCache DEFAULT_GROUPS = new PrincipalCache();
+
+    private static final Map<FileSystem, PrincipalCache> USERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final Map<FileSystem, PrincipalCache> GROUPS = Collections.synchronizedMap(new WeakHashMap<>());
 
     /**
      * @deprecated use {@link #FileAttributes(File)} and remove the unused userCache and groupCache parameters
@@ -94,77 +173,137 @@ public FileAttributes(@Nonnull File file, boolean followLinks) throws IOExceptio
         this(file.toPath(), followLinks);
     }
 
-    private static Map<Integer, String> getUserCache(FileSystem fs) {
-        return UIDS_CACHE.computeIfAbsent(fs, f -> new ConcurrentHashMap<>());
+    /**
+     * Reads the given level of attributes.
+     * @since 3.8.0
+     */
+    public FileAttributes(@Nonnull File file, boolean followLinks, @Nonnull AttributeDetail detail)
+            throws IOException {
+        this(file.toPath(), followLinks, detail);
+    }
+
+    /**
+     * Loads the user and group names of the default file system from the local {@code /etc/passwd},
+     * and {@code /etc/group} databases, so that resolving the names of files doesn't need a lookup
+     * per id. Users and groups, which aren't found there, are still resolved on demand. Does nothing,
+     * if the default file system isn't a unix one.
+     * @since 3.8.0
+     */
+    public static void preloadPrincipalNames() {
+        if (DEFAULT_READ_PLAN == ReadPlan.UNIX) {
+            DEFAULT_USERS.load(DEFAULT_FILE_SYSTEM.getPath("/etc/passwd"));
+            DEFAULT_GROUPS.load(DEFAULT_FILE_SYSTEM.getPath("/etc/group"));
+        }
+    }
+
+    private static PrincipalCache getUserCache(Path path) {
+        final FileSystem fileSystem = path.getFileSystem();
+        return fileSystem == DEFAULT_FILE_SYSTEM
+                ? DEFAULT_USERS
+                : USERS.computeIfAbsent(fileSystem, f -> new PrincipalCache());
     }
 
-    private static Map<Integer, String> getGroupCache(FileSystem fs) {
-        return GIDS_CACHE.computeIfAbsent(fs, f -> new ConcurrentHashMap<>());
+    private static PrincipalCache getGroupCache(Path path) {
+        final FileSystem fileSystem = path.getFileSystem();
+        return fileSystem == DEFAULT_FILE_SYSTEM
+                ? DEFAULT_GROUPS
+                : GROUPS.computeIfAbsent(fileSystem, f -> new PrincipalCache());
     }
 
     public FileAttributes(@Nonnull Path path, boolean followLinks) throws IOException {
+        this(path, followLinks, AttributeDetail.FULL);
+    }
+
+    /**
+     * Reads the given level of attributes, using only the attribute views, which are required for it.
+     * @since 3.8.0
+     */
+    public FileAttributes(@Nonnull Path path, boolean followLinks, @Nonnull AttributeDetail detail)
+            throws IOException {
         LinkOption[] options = followLinks ? FOLLOW_LINK_OPTIONS : NOFOLLOW_LINK_OPTIONS;
-        Set<String> views = path.getFileSystem().supportedFileAttributeViews();
-        String names;
-        if (views.contains("unix")) {
-            names =
-                    "unix:gid,uid,isSymbolicLink,isRegularFile,isDirectory,isOther,mode,permissions,size,lastModifiedTime";
-        } else if (views.contains("posix")) {
-            names = "posix:*";
-        } else {
-            names = "basic:*";
+        ReadPlan plan = getReadPlan(path.getFileSystem());
+        boolean names = detail == AttributeDetail.FULL;
+        if (detail.compareTo(AttributeDetail.POSIX_NUMERIC) < 0 || (!names && plan == ReadPlan.BASIC_WITH_OWNER)) {
+            plan = ReadPlan.BASIC;
         }
-        Map<String, Object> attrs = Files.readAttributes(path, names, options);
-        this.groupId = (Integer) attrs.get("gid");
-        if (attrs.containsKey("group")) {
-            this.groupName = ((Principal) attrs.get("group")).getName();
-        } else if (this.groupId != null) {
-            Map<Integer, String> cache = getGroupCache(path.getFileSystem());
-            String name = cache.get(this.groupId);
-            if (name == null) {
-                name = getPrincipalName(path, "unix:group");
-                cache.put(this.groupId, name);
+        if (plan == ReadPlan.UNIX) {
+            Map<String, Object> attrs = Files.readAttributes(path, UNIX_ATTRIBUTES, options);
+            // The numeric ids are the primary data, the names are taken from the cache, and only
+            // looked up, when they are requested, if they aren't cached yet
+            this.groupId = toId((Integer) attrs.get("gid"));
+            if (names && this.groupId != NO_ID) {
+                final PrincipalCache groups = getGroupCache(path);
+                if (groups.contains(groupId)) {
+                    this.groupName = groups.get(groupId, null);
+                } else {
+                    this.groupNameResolver = newNameResolver(groups, groupId, path, "unix:group");
+                }
             }
-            this.groupName = name;
-        } else {
-            this.groupName = null;
-        }
-        this.userId = (Integer) attrs.get("uid");
-        if (attrs.containsKey("owner")) {
-            this.userName = ((Principal) attrs.get("owner")).getName();
-        } else if (this.userId != null) {
-            Map<Integer, String> cache = getUserCache(path.getFileSystem());
-            String name = cache.get(this.userId);
-            if (name == null) {
-                name = getPrincipalName(path, "unix:owner");
-                cache.put(this.userId, name);
+            this.userId = toId((Integer) attrs.get("uid"));
+            if (names && this.userId != NO_ID) {
+                final PrincipalCache users = getUserCache(path);
+                if (users.contains(userId)) {
+                    this.userName = users.get(userId, null);
+                } else {
+                    this.userNameResolver = newNameResolver(users, userId, path, "unix:owner");
+                }
             }
-            this.userName = name;
-        } else if (views.contains("owner")) {
-            this.userName = getPrincipalName(path, "owner:owner");
+            this.flags = toFlags(
+                    (Boolean) attrs.get("isSymbolicLink"),
+                    (Boolean) attrs.get("isRegularFile"),
+                    (Boolean) attrs.get("isDirectory"),
+                    (Boolean) attrs.get("isOther"));
+            this.octalMode = (Integer) attrs.get("mode") & 0xfff;
+            this.permissions = (short) (octalMode & 0777);
+            this.size = (Long) attrs.get("size");
+            this.lastModifiedTime = (FileTime) attrs.get("lastModifiedTime");
         } else {
-            this.userName = null;
+            // The typed views are read without building an attribute map
+            BasicFileAttributes attrs;
+            if (plan == ReadPlan.POSIX) {
+                PosixFileAttributes posixAttrs = Files.readAttributes(path, PosixFileAttributes.class, options);
+                if (names) {
+                    this.groupName = getName(posixAttrs.group());
+                    this.userName = getName(posixAttrs.owner());
+                }
+                this.permissions = toBits(posixAttrs.permissions());
+                attrs = posixAttrs;
+            } else {
+                attrs = Files.readAttributes(path, BasicFileAttributes.class, options);
+                if (plan == ReadPlan.BASIC_WITH_OWNER) {
+                    this.userNameResolver = () -> getPrincipalName(path, "owner:owner");
+                }
+                this.permissions = 0;
+            }
+            this.groupId = NO_ID;
+            this.userId = NO_ID;
+            this.flags = toFlags(attrs.isSymbolicLink(), attrs.isRegularFile(), attrs.isDirectory(), attrs.isOther());
+            this.octalMode = PlexusIoResourceAttributes.UNKNOWN_OCTAL_MODE;
+            this.size = attrs.size();
+            this.lastModifiedTime = attrs.lastModifiedTime();
+        }
+    }
+
+    private static ReadPlan getReadPlan(FileSystem fileSystem) {
+        if (fileSystem == DEFAULT_FILE_SYSTEM) {
+            return DEFAULT_READ_PLAN;
         }
-        this.symbolicLink = (Boolean) attrs.get("isSymbolicLink");
-        this.regularFile = (Boolean) attrs.get("isRegularFile");
-        this.directory = (Boolean) attrs.get("isDirectory");
-        this.other = (Boolean) attrs.get("isOther");
-        this.octalMode = attrs.containsKey("mode")
-                ? (Integer) attrs.get("mode") & 0xfff
-                : PlexusIoResourceAttributes.UNKNOWN_OCTAL_MODE;
-        //noinspection unchecked
-        this.permissions = attrs.containsKey("permissions")
-                ? (Set<PosixFilePermission>) attrs.get("permissions")
-                : Collections.emptySet();
-        this.size = (Long) attrs.get("size");
-        this.lastModifiedTime = (FileTime) attrs.get("lastModifiedTime");
+        return READ_PLANS.computeIfAbsent(fileSystem, ReadPlan::of);
+    }
+
+    /**
+     * Returns a resolver, which looks up the name of an id, that isn't cached yet. The resolver
+     * doesn't reference the attributes, which it is created for.
+     */
+    private static Supplier<String> newNameResolver(PrincipalCache cache, int id, Path path, String attribute) {
+        return () -> cache.get(id, i -> lookupPrincipalName(path, attribute));
     }
 
     @Nullable
     private static String getPrincipalName(Path path, String attribute) {
         try {
             Object owner = Files.getAttribute(path, attribute, LinkOption.NOFOLLOW_LINKS);
-            return ((Principal) owner).getName();
+            return getName((Principal) owner);
         } catch (IOException e) {
             // Some file systems (e.g., WSL2 mapped network drives) don't provide ownership information
             // Return null instead of propagating the exception
@@ -172,6 +311,27 @@ private static String getPrincipalName(Path path, String attribute) {
         }
     }
 
+    /**
+     * Looks up the name of the files owner, or group for the {@link PrincipalCache}.
+     * @return The name, or null, if the file system doesn't provide ownership information
+     * @throws IOException If the file no longer exists, so the name is unknown for now, rather than
+     *   for good
+     */
+    @Nullable
+    private static String lookupPrincipalName(Path path, String attribute) throws IOException {
+        try {
+            Object owner = Files.getAttribute(path, attribute, LinkOption.NOFOLLOW_LINKS);
+            return getName((Principal) owner);
+        } catch (IOException e) {
+            if (e instanceof NoSuchFileException || Files.notExists(path, LinkOption.NOFOLLOW_LINKS)) {
+                throw e;
+            }
+            return null;
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
     public FileAttributes(
             @Nullable Integer userId,
             String userName,
@@ -185,28 +345,120 @@ public FileAttributes(
             Set<PosixFilePermission> permissions,
             long size,
             FileTime lastModifiedTime) {
+        this(
+                toId(userId),
+                intern(userName),
+                toId(groupId),
+                intern(groupName),
+                octalMode,
+                toFlags(symbolicLink, regularFile, directory, other),
+                toBits(permissions),
+                size,
+                lastModifiedTime);
+    }
+
+    private FileAttributes(
+            int userId,
+            String userName,
+            int groupId,
+            String groupName,
+            int octalMode,
+            byte flags,
+            short permissions,
+            long size,
+            FileTime lastModifiedTime) {
         this.userId = userId;
         this.userName = userName;
         this.groupId = groupId;
         this.groupName = groupName;
         this.octalMode = octalMode;
-        this.symbolicLink = symbolicLink;
-        this.regularFile = regularFile;
-        this.directory = directory;
-        this.other = other;
+        this.flags = flags;
         this.permissions = permissions;
         this.size = size;
         this.lastModifiedTime = lastModifiedTime;
     }
 
+    /**
+     * Creates attributes with the given user, group, and mode, and the type, permissions, size, and
+     * modification time of the given base attributes.
+     */
+    FileAttributes(
+            @Nullable Integer userId,
+            @Nullable String userName,
+            @Nullable Integer groupId,
+            @Nullable String groupName,
+            int octalMode,
+            FileAttributes base) {
+        this(
+                toId(userId),
+                intern(userName),
+                toId(groupId),
+                intern(groupName),
+                octalMode,
+                base.flags,
+                base.permissions,
+                base.size,
+                base.lastModifiedTime);
+    }
+
+    /**
+     * Creates attributes like {@link #FileAttributes(Integer, String, Integer, String, int, FileAttributes)},
+     * which resolve the user and group names, when they are first requested. A null resolver stands for a
+     * null name.
+     */
+    FileAttributes(
+            @Nullable Integer userId,
+            @Nullable Integer groupId,
+            int octalMode,
+            FileAttributes base,
+            @Nullable Supplier<String> userNameResolver,
+            @Nullable Supplier<String> groupNameResolver) {
+        this(userId, null, groupId, null, octalMode, base);
+        this.userNameResolver = userNameResolver;
+        this.groupNameResolver = groupNameResolver;
+    }
+
     public static @Nonnull PlexusIoResourceAttributes uncached(@Nonnull File file) throws IOException {
         return new FileAttributes(file);
     }
 
+    private static int toId(Integer id) {
+        return id == null ? NO_ID : id;
+    }
+
+    private static Integer fromId(int id) {
+        return id == NO_ID ? null : id;
+    }
+
+    private static byte toFlags(boolean symbolicLink, boolean regularFile, boolean directory, boolean other) {
+        return (byte) ((symbolicLink ? SYMBOLIC_LINK : 0)
+                | (regularFile ? REGULAR_FILE : 0)
+                | (directory ? DIRECTORY : 0)
+                | (other ? OTHER : 0));
+    }
+
+    private static short toBits(Set<PosixFilePermission> permissions) {
+        return (short) AttributeUtils.getOctalMode(permissions);
+    }
+
+    @Nullable
+    private static String getName(@Nullable Principal principal) {
+        return principal == null ? null : intern(principal.getName());
+    }
+
+    @Nullable
+    static String intern(@Nullable String name) {
+        if (name == null) {
+            return null;
+        }
+        final String interned = PRINCIPAL_NAMES.putIfAbsent(name, name);
+        return interned == null ? name : interned;
+    }
+
     @Nullable
     public Integer getGroupId() {
 
-        return groupId;
+        return fromId(groupId);
     }
 
     public boolean hasGroupId() {
@@ -219,14 +471,24 @@ public boolean hasUserId() {
 
     @Nullable
     public String getGroupName() {
+        final Supplier<String> resolver = groupNameResolver;
+        if (resolver != null) {
+            groupName = resolver.get();
+            groupNameResolver = null;
+        }
         return groupName;
     }
 
     public Integer getUserId() {
-        return userId;
+        return fromId(userId);
     }
 
     public String getUserName() {
+        final Supplier<String> resolver = userNameResolver;
+        if (resolver != null) {
+            userName = resolver.get();
+            userNameResolver = null;
+        }
         return userName;
     }
 
@@ -234,8 +496,8 @@ public boolean isGroupExecutable() {
         return containsPermission(PosixFilePermission.GROUP_EXECUTE);
     }
 
-    private boolean containsPermission(PosixFilePermission groupExecute) {
-        return permissions.contains(groupExecute);
+    private boolean containsPermission(PosixFilePermission permission) {
+        return (permissions & (0400 >> permission.ordinal())) != 0;
     }
 
     public boolean isGroupReadable() {
@@ -278,10 +540,10 @@ public String toString() {
         sb.append("------------------------------");
         sb.append(System.lineSeparator());
         sb.append("user: ");
-        sb.append(userName == null ? "" : userName);
+        sb.append(getUserName() == null ? "" : getUserName());
         sb.append(System.lineSeparator());
         sb.append("group: ");
-        sb.append(groupName == null ? "" : groupName);
+        sb.append(getGroupName() == null ? "" : getGroupName());
         sb.append(System.lineSeparator());
         sb.append("uid: ");
         sb.append(hasUserId() ? Integer.toString(userId) : "");
@@ -297,45 +559,7 @@ public int getOctalMode() {
     }
 
     public int calculatePosixOctalMode() {
-        int result = 0;
-
-        if (isOwnerReadable()) {
-            result |= AttributeConstants.OCTAL_OWNER_READ;
-        }
-
-        if (isOwnerWritable()) {
-            result |= AttributeConstants.OCTAL_OWNER_WRITE;
-        }
-
-        if (isOwnerExecutable()) {
-            result |= AttributeConstants.OCTAL_OWNER_EXECUTE;
-        }
-
-        if (isGroupReadable()) {
-            result |= AttributeConstants.OCTAL_GROUP_READ;
-        }
-
-        if (isGroupWritable()) {
-            result |= AttributeConstants.OCTAL_GROUP_WRITE;
-        }
-
-        if (isGroupExecutable()) {
-            result |= AttributeConstants.OCTAL_GROUP_EXECUTE;
-        }
-
-        if (isWorldReadable()) {
-            result |= AttributeConstants.OCTAL_WORLD_READ;
-        }
-
-        if (isWorldWritable()) {
-            result |= AttributeConstants.OCTAL_WORLD_WRITE;
-        }
-
-        if (isWorldExecutable()) {
-            result |= AttributeConstants.OCTAL_WORLD_EXECUTE;
-        }
-
-        return result;
+        return permissions;
     }
 
     public String getOctalModeString() {
@@ -343,19 +567,19 @@ public String getOctalModeString() {
     }
 
     public boolean isSymbolicLink() {
-        return symbolicLink;
+        return (flags & SYMBOLIC_LINK) != 0;
     }
 
     public boolean isRegularFile() {
-        return regularFile;
+        return (flags & REGULAR_FILE) != 0;
     }
 
     public boolean isDirectory() {
-        return directory;
+        return (flags & DIRECTORY) != 0;
     }
 
     public boolean isOther() {
-        return other;
+        return (flags & OTHER) != 0;
     }
 
     public long getSize() {
@@ -367,6 +591,6 @@ public FileTime getLastModifiedTime() {
     }
 
     protected Set<PosixFilePermission> getPermissions() {
-        return permissions;
+        return AttributeUtils.getPermissions(permissions);
     }
 }
@@ -0,0 +1,244 @@
+package org.codehaus.plexus.components.io.attributes;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads the {@link FileAttributes} of all files, and directories in a directory tree. Directories
+ * are walked in parallel on a {@link ForkJoinPool}, and the attributes, which are read for an entry,
+ * also decide, whether it is traversed, so every entry is read only once.
+ * <p>
+ * Like the {@link org.codehaus.plexus.util.DirectoryScanner}, symbolic links to directories are
+ * traversed, unless they point to a directory, which is being traversed already on the same branch,
+ * or one of its parents. This also ends cycles, which run through several links.
+ */
+class FileAttributesWalker {
+    private static final Object END = new Object();
+
+    /**
+     * The number of entries, which the walking threads may queue ahead of the consumer.
+     */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private final Path baseDir;
+
+    private final boolean followLinks;
+
+    private final int parallelism;
+
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    /**
+     * Set, when the walk is to be stopped, because it failed, or the consumer has returned.
+     */
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    /**
+     * Set, when the consumer has returned, so that the walking threads no longer wait for room in
+     * the queue.
+     */
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    FileAttributesWalker(Path baseDir, boolean followLinks, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, got " + parallelism);
+        }
+        this.baseDir = baseDir;
+        this.followLinks = followLinks;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Walks the tree, passing the entries to the consumer, which is always invoked by the calling
+     * thread. The entries are passed in no particular order, but a directory is passed before its
+     * contents. The walking threads wait, if they are too far ahead of the consumer.
+     * @param consumer Receives the entries path relative to the base directory, using '/' as the
+     *   separator, and the base directory itself as the empty string, and the entries attributes
+     */
+    void walk(BiConsumer<String, PlexusIoResourceAttributes> consumer) throws IOException {
+        consumer.accept("", new FileAttributes(baseDir, followLinks));
+        if (!Files.isDirectory(baseDir)) {
+            return;
+        }
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final Branch root = new Branch(baseDir.toRealPath(), null);
+            pool.execute(() -> {
+                try {
+                    new DirectoryTask(baseDir, "", root).invoke();
+                } catch (RuntimeException | Error e) {
+                    put(e);
+                } finally {
+                    put(END);
+                }
+            });
+            for (Object next = queue.take(); next != END; next = queue.take()) {
+                if (next instanceof IOException) {
+                    throw (IOException) next;
+                } else if (next instanceof RuntimeException) {
+                    throw (RuntimeException) next;
+                } else if (next instanceof Error) {
+                    throw (Error) next;
+                }
+                final Entry entry = (Entry) next;
+                consumer.accept(entry.relativePath, entry.attributes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading the attributes of " + baseDir);
+        } finally {
+            stopped.set(true);
+            finished.set(true);
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues the element, waiting for room, unless the consumer has returned.
+     */
+    private void put(Object element) {
+        try {
+            while (!finished.get()) {
+                if (queue.offer(element, 100, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the branch, which continues with the given entry, if it is a directory, which must be
+     * traversed, or null.
+     */
+    private Branch traverse(Path path, FileAttributes attributes, Branch branch) throws IOException {
+        final boolean link;
+        if (followLinks) {
+            // The attributes are those of the target
+            if (!attributes.isDirectory()) {
+                return null;
+            }
+            link = Files.isSymbolicLink(path);
+        } else if (attributes.isDirectory()) {
+            link = false;
+        } else {
+            if (!attributes.isSymbolicLink() || !Files.isDirectory(path)) {
+                return null;
+            }
+            link = true;
+        }
+        if (!link) {
+            return new Branch(branch.realPath.resolve(path.getFileName().toString()), branch);
+        }
+        final Path target = path.toRealPath();
+        for (Branch b = branch; b != null; b = b.parent) {
+            if (b.realPath.startsWith(target)) {
+                return null;
+            }
+        }
+        return new Branch(target, branch);
+    }
+
+    /**
+     * The real paths of the directories, which are being traversed, from the current directory
+     * up to the base directory.
+     */
+    private static final class Branch {
+        final Path realPath;
+
+        final Branch parent;
+
+        Branch(Path realPath, Branch parent) {
+            this.realPath = realPath;
+            this.parent = parent;
+        }
+    }
+
+    private static final class Entry {
+        final String relativePath;
+
+        final PlexusIoResourceAttributes attributes;
+
+        Entry(String relativePath, PlexusIoResourceAttributes attributes) {
+            this.relativePath = relativePath;
+            this.attributes = attributes;
+        }
+    }
+
+    private final class DirectoryTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path directory;
+
+        private final String relativePath;
+
+        private final Branch branch;
+
+        DirectoryTask(Path directory, String relativePath, Branch branch) {
+            this.directory = directory;
+            this.relativePath = relativePath;
+            this.branch = branch;
+        }
+
+        @Override
+        protected void compute() {
+            if (stopped.get()) {
+                return;
+            }
+            final List<DirectoryTask> tasks = new ArrayList<>();
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                for (Path child : children) {
+                    if (stopped.get()) {
+                        break;
+                    }
+                    final String name = child.getFileName().toString();
+                    final String childPath = relativePath.isEmpty() ? name : relativePath + '/' + name;
+                    final FileAttributes attributes = new FileAttributes(child, followLinks);
+                    put(new Entry(childPath, attributes));
+                    final Branch childBranch = traverse(child, attributes, branch);
+                    if (childBranch != null) {
+                        final DirectoryTask task = new DirectoryTask(child, childPath, childBranch);
+                        task.fork();
+                        tasks.add(task);
+                    }
+                }
+            } catch (IOException e) {
+                if (stopped.compareAndSet(false, true)) {
+                    put(e);
+                }
+            }
+            for (DirectoryTask task : tasks) {
+                task.join();
+            }
+        }
+    }
+}
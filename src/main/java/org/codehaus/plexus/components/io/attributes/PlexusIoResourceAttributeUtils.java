@@ -20,12 +20,13 @@
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
-import org.codehaus.plexus.util.FileUtils;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 @SuppressWarnings({"NullableProblems"})
 public final class PlexusIoResourceAttributeUtils {
@@ -55,29 +56,55 @@ public static PlexusIoResourceAttributes mergeAttributes(
                     ? override.getUserId()
                     : base.getUserId() != null && base.getUserId() != -1
                             ? base.getUserId()
-                            : def.getUserId() != null && def.getUserId() != -1 ? def.getUserId() : null;
-            String uname = override.getUserName() != null
-                    ? override.getUserName()
-                    : base.getUserName() != null ? base.getUserName() : def.getUserName();
+                            : def != null && def.getUserId() != null && def.getUserId() != -1 ? def.getUserId() : null;
             Integer gid = override.getGroupId() != null && override.getGroupId() != -1
                     ? override.getGroupId()
                     : base.getGroupId() != null && base.getGroupId() != -1
                             ? base.getGroupId()
-                            : def.getGroupId() != null && def.getGroupId() != -1 ? def.getGroupId() : null;
-            String gname = override.getGroupName() != null
-                    ? override.getGroupName()
-                    : base.getGroupName() != null ? base.getGroupName() : def.getGroupName();
+                            : def != null && def.getGroupId() != null && def.getGroupId() != -1
+                                    ? def.getGroupId()
+                                    : null;
             int mode = override.getOctalMode() > 0
                     ? override.getOctalMode()
-                    : base.getOctalMode() >= 0 ? base.getOctalMode() : def.getOctalMode();
+                    : base.getOctalMode() >= 0
+                            ? base.getOctalMode()
+                            : def != null ? def.getOctalMode() : PlexusIoResourceAttributes.UNKNOWN_OCTAL_MODE;
             if (base instanceof FileAttributes) {
-                return new UserGroupModeFileAttributes(uid, uname, gid, gname, mode, (FileAttributes) base);
-            } else {
-                return new SimpleResourceAttributes(uid, uname, gid, gname, mode, base.isSymbolicLink());
+                // The names of the base attributes are only resolved, if they are requested, and not overridden
+                return new UserGroupModeFileAttributes(
+                        uid,
+                        gid,
+                        mode,
+                        (FileAttributes) base,
+                        name(override.getUserName(), base::getUserName, () -> def == null ? null : def.getUserName()),
+                        name(
+                                override.getGroupName(),
+                                base::getGroupName,
+                                () -> def == null ? null : def.getGroupName()));
             }
+            String uname = override.getUserName() != null
+                    ? override.getUserName()
+                    : base.getUserName() != null ? base.getUserName() : def != null ? def.getUserName() : null;
+            String gname = override.getGroupName() != null
+                    ? override.getGroupName()
+                    : base.getGroupName() != null ? base.getGroupName() : def != null ? def.getGroupName() : null;
+            return new SimpleResourceAttributes(uid, uname, gid, gname, mode, base.isSymbolicLink());
         }
     }
 
+    /**
+     * Returns the overriding name, if any, or resolves the base name, falling back to the default name.
+     */
+    private static Supplier<String> name(String override, Supplier<String> base, Supplier<String> def) {
+        if (override != null) {
+            return () -> override;
+        }
+        return () -> {
+            final String name = base.get();
+            return name != null ? name : def.get();
+        };
+    }
+
     public static boolean isGroupExecutableInOctal(int mode) {
         return isOctalModeEnabled(mode, AttributeConstants.OCTAL_GROUP_EXECUTE);
     }
@@ -141,20 +168,97 @@ public static Map<String, PlexusIoResourceAttributes> getFileAttributesByPath(Fi
         return getFileAttributesByPath(dir, recursive, false);
     }
 
+    /**
+     * Returns the attributes of the given file, or directory, and, if requested, of all files, and
+     * directories below it. The directories are read in parallel, but the map has a reproducible
+     * order: Files come before directories, and both are ordered depth first, with the entries of
+     * each directory sorted by name.
+     */
     public static @Nonnull Map<String, PlexusIoResourceAttributes> getFileAttributesByPath(
             @Nonnull File dir, boolean recursive, boolean followLinks) throws IOException {
-        final List<String> fileAndDirectoryNames;
+        final Map<String, PlexusIoResourceAttributes> attributesByPath = new LinkedHashMap<>();
         if (recursive && dir.isDirectory()) {
-            fileAndDirectoryNames = FileUtils.getFileAndDirectoryNames(dir, null, null, true, true, true, true);
+            final Map<String, PlexusIoResourceAttributes> byRelativePath = getFileAttributesByRelativePath(
+                    dir, followLinks, Runtime.getRuntime().availableProcessors());
+            final List<String> relativePaths = new ArrayList<>(byRelativePath.keySet());
+            relativePaths.sort(PlexusIoResourceAttributeUtils::compareDepthFirst);
+            final String prefix = dir.getPath() + File.separator;
+            final Map<String, PlexusIoResourceAttributes> directories = new LinkedHashMap<>();
+            for (String relativePath : relativePaths) {
+                final String path = prefix + relativePath.replace('/', File.separatorChar);
+                final FileAttributes attributes = (FileAttributes) byRelativePath.get(relativePath);
+                // Like the DirectoryScanner, links to directories count as directories
+                if (attributes.isDirectory() || (attributes.isSymbolicLink() && new File(path).isDirectory())) {
+                    directories.put(path, attributes);
+                } else {
+                    attributesByPath.put(path, attributes);
+                }
+            }
+            attributesByPath.putAll(directories);
         } else {
-            fileAndDirectoryNames = Collections.singletonList(dir.getAbsolutePath());
+            attributesByPath.put(dir.getAbsolutePath(), new FileAttributes(dir, followLinks));
         }
+        return attributesByPath;
+    }
 
-        final Map<String, PlexusIoResourceAttributes> attributesByPath = new LinkedHashMap<>();
-
-        for (String fileAndDirectoryName : fileAndDirectoryNames) {
-            attributesByPath.put(fileAndDirectoryName, new FileAttributes(new File(fileAndDirectoryName), followLinks));
+    /**
+     * Compares relative paths, which use '/' as the separator, so that a directory comes directly
+     * before its contents.
+     */
+    private static int compareDepthFirst(String path1, String path2) {
+        final int length = Math.min(path1.length(), path2.length());
+        for (int i = 0; i < length; i++) {
+            final char c1 = path1.charAt(i);
+            final char c2 = path2.charAt(i);
+            if (c1 != c2) {
+                if (c1 == '/') {
+                    return -1;
+                }
+                if (c2 == '/') {
+                    return 1;
+                }
+                return c1 - c2;
+            }
         }
+        return path1.length() - path2.length();
+    }
+
+    /**
+     * Returns the attributes of the given directory, and all files, and directories below it.
+     * @param dir The base directory
+     * @param followLinks Whether to return the attributes of the targets of symbolic links
+     * @param parallelism The maximum number of directories, which are read concurrently, at least 1
+     * @return The attributes, keyed by the path relative to the base directory, using '/' as the
+     *   separator. The base directory itself is keyed by the empty string
+     * @since 3.8.0
+     */
+    public static @Nonnull Map<String, PlexusIoResourceAttributes> getFileAttributesByRelativePath(
+            @Nonnull File dir, boolean followLinks, int parallelism) throws IOException {
+        final Map<String, PlexusIoResourceAttributes> attributesByPath = new HashMap<>();
+        walkFileAttributes(dir, followLinks, parallelism, attributesByPath::put);
         return attributesByPath;
     }
+
+    /**
+     * Reads the attributes of the given directory, and all files, and directories below it, passing
+     * them to the consumer as soon as they are read. Directories are read in parallel, but the
+     * consumer is always invoked by the calling thread, in no particular order. Symbolic links to
+     * directories are traversed, unless they point to a directory, which is being traversed already
+     * on the same branch, or one of its parents, so that link cycles end.
+     * @param dir The base directory
+     * @param followLinks Whether to return the attributes of the targets of symbolic links
+     * @param parallelism The maximum number of directories, which are read concurrently, at least 1
+     * @param consumer Receives the path relative to the base directory, using '/' as the separator,
+     *   and the attributes of each entry. A directory is passed before its contents, and the base
+     *   directory itself first, as the empty string
+     * @since 3.8.0
+     */
+    public static void walkFileAttributes(
+            @Nonnull File dir,
+            boolean followLinks,
+            int parallelism,
+            @Nonnull BiConsumer<String, PlexusIoResourceAttributes> consumer)
+            throws IOException {
+        new FileAttributesWalker(dir.toPath(), followLinks, parallelism).walk(consumer);
+    }
 }
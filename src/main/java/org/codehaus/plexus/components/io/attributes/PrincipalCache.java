@@ -0,0 +1,208 @@
+package org.codehaus.plexus.components.io.attributes;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Maps the numeric user, or group ids of a file system to their names. Lookups are lock-free, and
+ * don't box the ids: The table is an immutable open addressing hash table, which is replaced as a
+ * whole, when names are added. As a file system has few distinct owners, the table is small, and
+ * rarely replaced.
+ * <p>
+ * Ids, which the file system can't resolve, are cached as well, so that a file system, which doesn't
+ * provide ownership information, is only asked once per id. Lookups, which fail for other reasons,
+ * for example because the file has been deleted in the meantime, aren't cached.
+ */
+class PrincipalCache {
+    /**
+     * Stands for an id, which can't be resolved.
+     */
+    private static final String UNRESOLVABLE = new String("");
+
+    private final AtomicReference<Table> table = new AtomicReference<>(new Table(16));
+
+    /**
+     * Returns the name of the given id, invoking the resolver, if the id hasn't been resolved before.
+     * @return The name, or null, if the id can't be resolved
+     */
+    String get(int id, Resolver resolver) {
+        String name = table.get().get(id);
+        if (name == null) {
+            try {
+                name = resolver.resolve(id);
+            } catch (IOException e) {
+                // Try again for the next file
+                return null;
+            }
+            put(id, name == null ? UNRESOLVABLE : name);
+            return name;
+        }
+        return name == UNRESOLVABLE ? null : name;
+    }
+
+    /**
+     * Returns, whether the given id has been resolved before, so that {@link #get(int, Resolver)}
+     * returns at once, without invoking the resolver.
+     */
+    boolean contains(int id) {
+        return table.get().get(id) != null;
+    }
+
+    private void put(int id, String name) {
+        for (; ; ) {
+            final Table current = table.get();
+            if (current.get(id) != null) {
+                return;
+            }
+            final Table updated = current.copy(current.size + 1);
+            updated.insert(id, name);
+            if (table.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds the names of a database in the format of {@code /etc/passwd}, or {@code /etc/group}: The
+     * name is the first, and the id the third colon separated field. Ids, which are already known,
+     * aren't changed. A database, which can't be read, is ignored.
+     */
+    void load(Path database) {
+        final Table loaded = new Table(16);
+        try (BufferedReader reader = Files.newBufferedReader(database, StandardCharsets.UTF_8)) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                final String[] fields = line.split(":", 4);
+                if (fields.length < 3 || fields[0].isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    final int id = Integer.parseInt(fields[2]);
+                    // Like the system lookup, the first entry for an id wins
+                    if (loaded.get(id) == null) {
+                        if ((loaded.size + 1) * 2 > loaded.ids.length) {
+                            loaded.grow();
+                        }
+                        loaded.insert(id, FileAttributes.intern(fields[0]));
+                    }
+                } catch (NumberFormatException e) {
+                    // Not a local entry, for example a NIS include
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return;
+        }
+        for (; ; ) {
+            final Table current = table.get();
+            final Table updated = current.copy(current.size + loaded.size);
+            for (int i = 0; i < loaded.names.length; i++) {
+                if (loaded.names[i] != null && updated.get(loaded.ids[i]) == null) {
+                    updated.insert(loaded.ids[i], loaded.names[i]);
+                }
+            }
+            if (table.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Looks up the name of an id.
+     */
+    interface Resolver {
+        /**
+         * @return The name, or null, if the file system can't resolve the id
+         * @throws IOException If the id can't be resolved this time, for example, because the file,
+         *   whose owner is looked up, has been deleted
+         */
+        String resolve(int id) throws IOException;
+    }
+
+    /**
+     * An open addressing hash table with linear probing. A slot is empty, if its name is null.
+     */
+    private static final class Table {
+        int[] ids;
+
+        String[] names;
+
+        int size;
+
+        Table(int capacity) {
+            ids = new int[capacity];
+            names = new String[capacity];
+        }
+
+        String get(int id) {
+            final int mask = ids.length - 1;
+            for (int i = hash(id) & mask; ; i = (i + 1) & mask) {
+                final String name = names[i];
+                if (name == null || ids[i] == id) {
+                    return name;
+                }
+            }
+        }
+
+        /**
+         * Inserts a new id, which must not be present, and for which there must be room.
+         */
+        void insert(int id, String name) {
+            final int mask = ids.length - 1;
+            int i = hash(id) & mask;
+            while (names[i] != null) {
+                i = (i + 1) & mask;
+            }
+            ids[i] = id;
+            names[i] = name;
+            size++;
+        }
+
+        /**
+         * Returns a copy, which has room for the given number of ids, keeping the load factor at
+         * most one half.
+         */
+        Table copy(int expectedSize) {
+            int capacity = ids.length;
+            while (expectedSize * 2 > capacity) {
+                capacity *= 2;
+            }
+            final Table copy = new Table(capacity);
+            for (int i = 0; i < names.length; i++) {
+                if (names[i] != null) {
+                    copy.insert(ids[i], names[i]);
+                }
+            }
+            return copy;
+        }
+
+        void grow() {
+            final Table grown = copy(ids.length);
+            ids = grown.ids;
+            names = grown.names;
+        }
+
+        private static int hash(int id) {
+            final int h = id * 0x9e3779b9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
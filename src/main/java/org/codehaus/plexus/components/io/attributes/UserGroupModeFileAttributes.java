@@ -16,6 +16,8 @@
  * limitations under the License.
  */
 
+import java.util.function.Supplier;
+
 /*
  * A very simple pojo based PlexusIoResourceAttributes without any kind of backing
  */
@@ -23,19 +25,20 @@ public class UserGroupModeFileAttributes extends FileAttributes {
 
     public UserGroupModeFileAttributes(
             Integer uid, String userName, Integer gid, String groupName, int mode, FileAttributes base) {
-        super(
-                uid,
-                userName,
-                gid,
-                groupName,
-                mode,
-                base.isSymbolicLink(),
-                base.isRegularFile(),
-                base.isDirectory(),
-                base.isOther(),
-                base.getPermissions(),
-                base.getSize(),
-                base.getLastModifiedTime());
+        super(uid, userName, gid, groupName, mode, base);
+    }
+
+    /**
+     * Creates attributes, which resolve the user and group names, when they are first requested.
+     */
+    UserGroupModeFileAttributes(
+            Integer uid,
+            Integer gid,
+            int mode,
+            FileAttributes base,
+            Supplier<String> userNameResolver,
+            Supplier<String> groupNameResolver) {
+        super(uid, gid, mode, base, userNameResolver, groupNameResolver);
     }
 
     public String toString() {
@@ -34,4 +34,18 @@ public class AllFilesFileSelector implements FileSelector {
     public boolean isSelected(@Nonnull FileInfo fileInfo) {
         return true;
     }
+
+    /**
+     * Returns {@link SelectorCost#NAME_ONLY} for this class, and the {@link DefaultFileSelector}.
+     * Subclasses may override {@link #isSelected(FileInfo)} to use more than the name, so they
+     * keep the default cost, unless they override this as well.
+     * @since 3.8.0
+     */
+    @Nonnull
+    @Override
+    public SelectorCost getCost() {
+        return getClass() == AllFilesFileSelector.class || getClass() == DefaultFileSelector.class
+                ? SelectorCost.NAME_ONLY
+                : FileSelector.super.getCost();
+    }
 }
@@ -0,0 +1,377 @@
+package org.codehaus.plexus.components.io.fileselectors;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import javax.annotation.Nonnull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.codehaus.plexus.util.MatchPattern;
+import org.codehaus.plexus.util.MatchPatterns;
+import org.codehaus.plexus.util.SelectorUtils;
+
+/**
+ * A set of patterns, which matches a path in a single pass, with the same results as
+ * {@link MatchPatterns#matches(String, boolean)}.
+ * <p>
+ * The ant style patterns are merged into a trie of path segments, where the segments
+ * <code>**</code> are loops, so that each path segment is compared with the patterns
+ * at most once. Literal segments are found by a hash lookup. If the patterns are case
+ * insensitive, the lookup uses a precomputed case folding, and each candidate is
+ * confirmed with the same character comparison as {@link SelectorUtils}. Regular
+ * expression patterns are compiled once, and evaluated separately.
+ * @since 3.8.0
+ */
+public final class CompiledMatchPatterns {
+    private static final String ANY_SEGMENTS = "**";
+
+    /**
+     * Maps each character to a representative of all characters, which it is equal
+     * to, ignoring case, as defined by {@link SelectorUtils}. Characters, which are
+     * equal ignoring case, are thus guaranteed to have the same representative.
+     */
+    private static final char[] FOLDED = computeFolding();
+
+    private final boolean caseSensitive;
+
+    private final Node root;
+
+    private final Pattern[] regexPatterns;
+
+    private CompiledMatchPatterns(boolean caseSensitive, Node root, Pattern[] regexPatterns) {
+        this.caseSensitive = caseSensitive;
+        this.root = root;
+        this.regexPatterns = regexPatterns;
+    }
+
+    /**
+     * Compiles the given patterns, which must use {@link File#separatorChar} as separator.
+     * @param isCaseSensitive Whether the patterns are case sensitive.
+     * @param patterns The patterns, as accepted by {@link MatchPatterns#from(String...)}.
+     */
+    public static CompiledMatchPatterns from(boolean isCaseSensitive, String... patterns) {
+        final Node root = new Node(false);
+        final List<Pattern> regexPatterns = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (SelectorUtils.isRegexPrefixedPattern(pattern)) {
+                regexPatterns.add(Pattern.compile(pattern.substring(
+                        SelectorUtils.REGEX_HANDLER_PREFIX.length(),
+                        pattern.length() - SelectorUtils.PATTERN_HANDLER_SUFFIX.length())));
+                continue;
+            }
+            Node node = root;
+            for (String segment : MatchPattern.fromString(pattern).getTokenizedPathString()) {
+                node = node.add(segment, isCaseSensitive);
+            }
+            node.terminal = true;
+        }
+        return new CompiledMatchPatterns(isCaseSensitive, root, regexPatterns.toArray(new Pattern[0]));
+    }
+
+    /**
+     * Returns, whether the patterns are case sensitive.
+     */
+    public boolean isCaseSensitive() {
+        return caseSensitive;
+    }
+
+    /**
+     * Returns, whether any of the patterns matches the given path.
+     * @param name The path, using {@link File#separatorChar} as separator.
+     */
+    public boolean matches(@Nonnull String name) {
+        for (Pattern regexPattern : regexPatterns) {
+            if (regexPattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        List<Node> current = new ArrayList<>(4);
+        root.addTo(current);
+        List<Node> next = new ArrayList<>(4);
+        final int length = name.length();
+        int start = 0;
+        while (start < length) {
+            int end = name.indexOf(File.separatorChar, start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                final String segment = name.substring(start, end);
+                final String folded = caseSensitive ? segment : fold(segment);
+                for (Node node : current) {
+                    node.step(segment, folded, caseSensitive, next);
+                }
+                if (next.isEmpty()) {
+                    return false;
+                }
+                List<Node> swap = current;
+                current = next;
+                next = swap;
+                next.clear();
+            }
+            start = end + 1;
+        }
+        for (Node node : current) {
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String fold(String segment) {
+        final char[] chars = segment.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = FOLDED[chars[i]];
+        }
+        return new String(chars);
+    }
+
+    private static boolean isWildcard(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0;
+    }
+
+    /**
+     * Compares like {@link SelectorUtils#match(char[], char[], boolean)} does for a case insensitive
+     * pattern without wildcards.
+     */
+    private static boolean equalsIgnoringCase(char[] literal, String segment) {
+        return literal.length == segment.length() && regionMatches(segment, 0, literal, 0, literal.length, false);
+    }
+
+    private static boolean regionMatches(
+            String segment, int offset, char[] pattern, int start, int end, boolean isCaseSensitive) {
+        for (int i = start, j = offset; i < end; i++, j++) {
+            final char c1 = pattern[i];
+            final char c2 = segment.charAt(j);
+            if (c1 != c2
+                    && (isCaseSensitive
+                            || (Character.toUpperCase(c1) != Character.toUpperCase(c2)
+                                    && Character.toLowerCase(c1) != Character.toLowerCase(c2)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char[] computeFolding() {
+        final int size = Character.MAX_VALUE + 1;
+        final char[] parents = new char[size];
+        for (int c = 0; c < size; c++) {
+            parents[c] = (char) c;
+        }
+        for (int c = 0; c < size; c++) {
+            union(parents, (char) c, Character.toUpperCase((char) c));
+            union(parents, (char) c, Character.toLowerCase((char) c));
+        }
+        for (int c = 0; c < size; c++) {
+            parents[c] = find(parents, (char) c);
+        }
+        return parents;
+    }
+
+    private static char find(char[] parents, char c) {
+        char result = c;
+        while (parents[result] != result) {
+            result = parents[result];
+        }
+        return result;
+    }
+
+    private static void union(char[] parents, char c1, char c2) {
+        final char r1 = find(parents, c1);
+        final char r2 = find(parents, c2);
+        if (r1 < r2) {
+            parents[r2] = r1;
+        } else if (r2 < r1) {
+            parents[r1] = r2;
+        }
+    }
+
+    /**
+     * A state of the trie, reached after matching a sequence of pattern segments.
+     */
+    private static final class Node {
+        /**
+         * Whether this node has been reached by a segment <code>**</code>, and thus accepts any further segment.
+         */
+        final boolean anySegment;
+
+        /**
+         * Whether a pattern ends here.
+         */
+        boolean terminal;
+
+        /**
+         * The children for literal segments, by the segment, or its case folding.
+         */
+        Map<String, List<Edge>> literals;
+
+        List<Edge> wildcards;
+
+        Node anySegments;
+
+        Node(boolean anySegment) {
+            this.anySegment = anySegment;
+        }
+
+        Node add(String segment, boolean isCaseSensitive) {
+            if (ANY_SEGMENTS.equals(segment)) {
+                if (anySegments == null) {
+                    anySegments = new Node(true);
+                }
+                return anySegments;
+            }
+            final List<Edge> edges;
+            if (isWildcard(segment)) {
+                if (wildcards == null) {
+                    wildcards = new ArrayList<>();
+                }
+                edges = wildcards;
+            } else {
+                if (literals == null) {
+                    literals = new HashMap<>();
+                }
+                edges = literals.computeIfAbsent(isCaseSensitive ? segment : fold(segment), k -> new ArrayList<>(1));
+            }
+            for (Edge edge : edges) {
+                if (edge.segment.equals(segment)) {
+                    return edge.target;
+                }
+            }
+            final Edge edge = new Edge(segment, new Node(false));
+            edges.add(edge);
+            return edge.target;
+        }
+
+        /**
+         * Adds this node, and the nodes, which are reachable by matching zero segments, to the given list.
+         */
+        void addTo(List<Node> nodes) {
+            for (Node node = this; node != null; node = node.anySegments) {
+                if (nodes.contains(node)) {
+                    return;
+                }
+                nodes.add(node);
+            }
+        }
+
+        void step(String segment, String folded, boolean isCaseSensitive, List<Node> next) {
+            if (anySegment) {
+                addTo(next);
+            }
+            if (literals != null) {
+                final List<Edge> edges = literals.get(folded);
+                if (edges != null) {
+                    for (Edge edge : edges) {
+                        if (isCaseSensitive || equalsIgnoringCase(edge.chars, segment)) {
+                            edge.target.addTo(next);
+                        }
+                    }
+                }
+            }
+            if (wildcards != null) {
+                char[] chars = null;
+                for (Edge edge : wildcards) {
+                    final boolean matching;
+                    if (edge.stars != null) {
+                        matching = edge.matchesStars(segment, isCaseSensitive);
+                    } else {
+                        if (chars == null) {
+                            chars = segment.toCharArray();
+                        }
+                        matching = SelectorUtils.match(edge.chars, chars, isCaseSensitive);
+                    }
+                    if (matching) {
+                        edge.target.addTo(next);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Edge {
+        final String segment;
+
+        final char[] chars;
+
+        /**
+         * The positions of the <code>*</code> in a segment without <code>?</code>, or null.
+         */
+        final int[] stars;
+
+        final Node target;
+
+        Edge(String segment, Node target) {
+            this.segment = segment;
+            this.chars = segment.toCharArray();
+            this.target = target;
+            if (segment.indexOf('?') >= 0 || segment.indexOf('*') < 0) {
+                stars = null;
+            } else {
+                int[] positions = new int[chars.length];
+                int count = 0;
+                for (int i = 0; i < chars.length; i++) {
+                    if (chars[i] == '*') {
+                        positions[count++] = i;
+                    }
+                }
+                stars = Arrays.copyOf(positions, count);
+            }
+        }
+
+        /**
+         * Matches a segment, which contains <code>*</code>, but no <code>?</code>: The literal parts
+         * before the first, and after the last <code>*</code> must match the segments start and end,
+         * and the parts in between are found from left to right.
+         */
+        boolean matchesStars(String segment, boolean isCaseSensitive) {
+            final int first = stars[0];
+            final int last = stars[stars.length - 1];
+            final int suffixLength = chars.length - last - 1;
+            int offset = first;
+            int limit = segment.length() - suffixLength;
+            if (limit < offset
+                    || !regionMatches(segment, 0, chars, 0, first, isCaseSensitive)
+                    || !regionMatches(segment, limit, chars, last + 1, chars.length, isCaseSensitive)) {
+                return false;
+            }
+            for (int i = 1; i < stars.length; i++) {
+                final int start = stars[i - 1] + 1;
+                final int end = stars[i];
+                final int length = end - start;
+                while (true) {
+                    if (offset + length > limit) {
+                        return false;
+                    }
+                    if (regionMatches(segment, offset, chars, start, end, isCaseSensitive)) {
+                        break;
+                    }
+                    offset++;
+                }
+                offset += length;
+            }
+            return true;
+        }
+    }
+}
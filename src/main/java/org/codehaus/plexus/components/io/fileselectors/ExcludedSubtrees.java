@@ -0,0 +1,96 @@
+package org.codehaus.plexus.components.io.fileselectors;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import javax.annotation.Nonnull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.plexus.util.MatchPattern;
+import org.codehaus.plexus.util.SelectorUtils;
+
+/**
+ * Detects directories, which are excluded together with everything below them.
+ * A directory is such a subtree, if it matches the part <code>Q</code> of an
+ * exclude pattern <code>Q/**</code>, like <code>**&#47;target/**</code>. Regular
+ * expression patterns are never considered.
+ * @since 3.8.0
+ */
+public final class ExcludedSubtrees {
+    private static final String ALL = "**";
+
+    private static final String ALL_BELOW = File.separator + ALL;
+
+    private final MatchPattern[] parents;
+
+    private final boolean excludingAll;
+
+    private ExcludedSubtrees(MatchPattern[] parents, boolean excludingAll) {
+        this.parents = parents;
+        this.excludingAll = excludingAll;
+    }
+
+    /**
+     * Creates an instance from the given exclude patterns, which must use
+     * {@link File#separatorChar} as separator.
+     * @param excludes The exclude patterns, or null.
+     */
+    public static ExcludedSubtrees from(String... excludes) {
+        final List<MatchPattern> parents = new ArrayList<>();
+        boolean excludingAll = false;
+        if (excludes != null) {
+            for (String exclude : excludes) {
+                String pattern = exclude;
+                if (pattern.startsWith(SelectorUtils.REGEX_HANDLER_PREFIX)) {
+                    continue;
+                }
+                if (pattern.startsWith(SelectorUtils.ANT_HANDLER_PREFIX)
+                        && pattern.endsWith(SelectorUtils.PATTERN_HANDLER_SUFFIX)) {
+                    pattern = pattern.substring(
+                            SelectorUtils.ANT_HANDLER_PREFIX.length(),
+                            pattern.length() - SelectorUtils.PATTERN_HANDLER_SUFFIX.length());
+                }
+                if (ALL.equals(pattern)) {
+                    excludingAll = true;
+                } else if (pattern.endsWith(ALL_BELOW) && pattern.length() > ALL_BELOW.length()) {
+                    String parent = pattern.substring(0, pattern.length() - ALL_BELOW.length());
+                    parents.add(MatchPattern.fromString(parent));
+                }
+            }
+        }
+        return new ExcludedSubtrees(parents.toArray(new MatchPattern[0]), excludingAll);
+    }
+
+    /**
+     * Returns, whether everything below the given directory is excluded.
+     * @param directoryName The directories name, using {@link File#separatorChar} as separator.
+     * @param isCaseSensitive Whether the patterns are case sensitive.
+     */
+    public boolean isExcluded(@Nonnull String directoryName, boolean isCaseSensitive) {
+        if (excludingAll && !directoryName.startsWith(File.separator)) {
+            return true;
+        }
+        for (MatchPattern parent : parents) {
+            if (parent.matchPath(directoryName, isCaseSensitive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -31,4 +31,27 @@ public interface FileSelector {
      *   of {@link org.codehaus.plexus.components.io.resources.PlexusIoResource}.
      */
     boolean isSelected(@Nonnull FileInfo fileInfo) throws IOException;
+
+    /**
+     * Returns, whether any entry below the given directory could be selected.
+     * If not, the directories contents may be skipped without invoking
+     * {@link #isSelected(FileInfo)}. The default implementation returns true.
+     * @param directoryName The directories name.
+     * @since 3.8.0
+     */
+    default boolean couldHoldSelected(@Nonnull String directoryName) {
+        return true;
+    }
+
+    /**
+     * Returns the parts of the file, which this selector uses. Resource collections invoke the
+     * selectors in the order of their cost, and in the given order, if the cost is the same.
+     * Selectors, which don't read the contents, should override this. The default implementation
+     * returns {@link SelectorCost#CONTENT}.
+     * @since 3.8.0
+     */
+    @Nonnull
+    default SelectorCost getCost() {
+        return SelectorCost.CONTENT;
+    }
 }
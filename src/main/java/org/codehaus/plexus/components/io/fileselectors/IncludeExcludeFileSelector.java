@@ -37,9 +37,9 @@ public class IncludeExcludeFileSelector implements FileSelector {
      */
     public static final String ROLE_HINT = "standard";
 
-    private static final MatchPatterns ALL_INCLUDES = MatchPatterns.from(getCanonicalName("**/*"));
+    private static final String[] ALL_INCLUDE_PATTERNS = {getCanonicalName("**/*")};
 
-    private static final MatchPatterns ZERO_EXCLUDES = MatchPatterns.from();
+    private static final MatchPatterns ALL_INCLUDES = MatchPatterns.from(ALL_INCLUDE_PATTERNS);
 
     private boolean isCaseSensitive = true;
 
@@ -51,7 +51,21 @@ public class IncludeExcludeFileSelector implements FileSelector {
 
     private MatchPatterns computedIncludes = ALL_INCLUDES;
 
-    private MatchPatterns computedExcludes = ZERO_EXCLUDES;
+    private String[] includePatterns = ALL_INCLUDE_PATTERNS;
+
+    private String[] excludePatterns = new String[0];
+
+    /**
+     * The include patterns, compiled on demand for the current case sensitivity.
+     */
+    private CompiledMatchPatterns compiledIncludes;
+
+    /**
+     * The exclude patterns, compiled on demand for the current case sensitivity.
+     */
+    private CompiledMatchPatterns compiledExcludes;
+
+    private ExcludedSubtrees excludedSubtrees = ExcludedSubtrees.from();
 
     /**
      * Tests whether or not a name matches against at least one exclude
@@ -62,7 +76,12 @@ public class IncludeExcludeFileSelector implements FileSelector {
      *         exclude pattern, or <code>false</code> otherwise.
      */
     protected boolean isExcluded(@Nonnull String name) {
-        return computedExcludes.matches(name, isCaseSensitive);
+        CompiledMatchPatterns patterns = compiledExcludes;
+        if (patterns == null) {
+            patterns = CompiledMatchPatterns.from(isCaseSensitive, excludePatterns);
+            compiledExcludes = patterns;
+        }
+        return patterns.matches(name);
     }
 
     /**
@@ -81,6 +100,7 @@ protected boolean isExcluded(@Nonnull String name) {
     public void setIncludes(@Nullable String[] includes) {
         this.includes = includes;
         if (includes == null) {
+            includePatterns = ALL_INCLUDE_PATTERNS;
             computedIncludes = ALL_INCLUDES;
         } else {
             String[] cleaned;
@@ -88,8 +108,10 @@ public void setIncludes(@Nullable String[] includes) {
             for (int i = 0; i < includes.length; i++) {
                 cleaned[i] = asPattern(includes[i]);
             }
+            includePatterns = cleaned;
             computedIncludes = MatchPatterns.from(cleaned);
         }
+        compiledIncludes = null;
     }
 
     private static @Nonnull String getCanonicalName(@Nonnull String pName) {
@@ -133,7 +155,8 @@ public void setExcludes(@Nullable String[] excludes) {
         this.excludes = excludes;
         final String[] defaultExcludes = useDefaultExcludes ? FileUtils.getDefaultExcludes() : new String[] {};
         if (excludes == null) {
-            computedExcludes = MatchPatterns.from(defaultExcludes);
+            excludePatterns = defaultExcludes;
+            excludedSubtrees = ExcludedSubtrees.from(defaultExcludes);
         } else {
             String[] temp = new String[excludes.length + defaultExcludes.length];
             for (int i = 0; i < excludes.length; i++) {
@@ -143,8 +166,10 @@ public void setExcludes(@Nullable String[] excludes) {
             if (defaultExcludes.length > 0) {
                 System.arraycopy(defaultExcludes, 0, temp, excludes.length, defaultExcludes.length);
             }
-            computedExcludes = MatchPatterns.from(temp);
+            excludePatterns = temp;
+            excludedSubtrees = ExcludedSubtrees.from(temp);
         }
+        compiledExcludes = null;
     }
 
     /**
@@ -179,7 +204,12 @@ protected boolean matchPath(@Nonnull String pattern, @Nonnull String name, boole
      *         include pattern, or <code>false</code> otherwise.
      */
     protected boolean isIncluded(@Nonnull String name) {
-        return computedIncludes.matches(name, isCaseSensitive);
+        CompiledMatchPatterns patterns = compiledIncludes;
+        if (patterns == null) {
+            patterns = CompiledMatchPatterns.from(isCaseSensitive, includePatterns);
+            compiledIncludes = patterns;
+        }
+        return patterns.matches(name);
     }
 
     public boolean isSelected(@Nonnull FileInfo fileInfo) {
@@ -187,6 +217,32 @@ public boolean isSelected(@Nonnull FileInfo fileInfo) {
         return isIncluded(name) && !isExcluded(name);
     }
 
+    /**
+     * Returns {@link SelectorCost#NAME_ONLY} for this class. Subclasses may override
+     * {@link #isSelected(FileInfo)} to use more than the name, so they keep the default cost,
+     * unless they override this as well.
+     * @since 3.8.0
+     */
+    @Nonnull
+    @Override
+    public SelectorCost getCost() {
+        return getClass() == IncludeExcludeFileSelector.class ? SelectorCost.NAME_ONLY : FileSelector.super.getCost();
+    }
+
+    /**
+     * Returns, whether any entry below the given directory could be selected. This is
+     * false, if no include pattern could match an entry below the directory, or if an
+     * exclude pattern like <code>**&#47;target/**</code> excludes the directory together
+     * with all its contents.
+     * @since 3.8.0
+     */
+    @Override
+    public boolean couldHoldSelected(@Nonnull String directoryName) {
+        final String name = getCanonicalName(directoryName);
+        return computedIncludes.matchesPatternStart(name, isCaseSensitive)
+                && !excludedSubtrees.isExcluded(name, isCaseSensitive);
+    }
+
     /**
      * Returns, whether the include/exclude patterns are case sensitive.
      * @return True, if the patterns are case sensitive (default), or false.
@@ -201,6 +257,8 @@ public boolean isCaseSensitive() {
      */
     public void setCaseSensitive(boolean caseSensitive) {
         isCaseSensitive = caseSensitive;
+        compiledIncludes = null;
+        compiledExcludes = null;
     }
 
     /**
@@ -0,0 +1,42 @@
+package org.codehaus.plexus.components.io.fileselectors;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The parts of a {@link FileInfo}, which a {@link FileSelector} uses to come to a decision, in the
+ * order of increasing cost. Resource collections invoke cheaper selectors first, so that a file,
+ * which is rejected by its name, needn't be read.
+ *
+ * @since 3.8.0
+ */
+public enum SelectorCost {
+    /**
+     * The selector only invokes {@link FileInfo#getName()}. Resource collections may invoke it
+     * with a {@link FileInfo}, which supports nothing else, before reading the files attributes.
+     */
+    NAME_ONLY,
+
+    /**
+     * The selector uses the name, type, and attributes of the file, but not its contents.
+     */
+    METADATA,
+
+    /**
+     * The selector may read the contents of the file.
+     */
+    CONTENT
+}
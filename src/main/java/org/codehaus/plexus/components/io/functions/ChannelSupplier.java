@@ -0,0 +1,45 @@
+package org.codehaus.plexus.components.io.functions;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import javax.annotation.Nonnull;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Implemented by resources, which provide their contents through channels. Resources, which
+ * are backed by a file, use this to transfer their contents without copying them through the
+ * Java heap. Use {@link org.codehaus.plexus.components.io.resources.ResourceChannels} to access
+ * the contents of arbitrary resources in the same way.
+ * @since 3.8.0
+ */
+public interface ChannelSupplier {
+    /**
+     * Opens a read only channel with the same contents as
+     * {@link org.codehaus.plexus.components.io.resources.PlexusIoResource#getContents()}.
+     */
+    @Nonnull
+    SeekableByteChannel getChannel() throws IOException;
+
+    /**
+     * Writes the complete contents to the given channel, which is not closed.
+     * @return The number of bytes, which have been written.
+     */
+    long transferTo(@Nonnull WritableByteChannel target) throws IOException;
+}
@@ -0,0 +1,29 @@
+package org.codehaus.plexus.components.io.functions;
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+
+import org.codehaus.plexus.components.io.resources.PlexusIoResource;
+
+/**
+ * Consumes the result, which has been computed from a PlexusIoResource.
+ * @param <T> The result type.
+ * @since 3.8.0
+ */
+public interface PlexusIoResultConsumer<T> {
+    void accept(PlexusIoResource resource, T result) throws IOException;
+}
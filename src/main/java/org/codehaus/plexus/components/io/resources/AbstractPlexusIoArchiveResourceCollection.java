@@ -20,6 +20,8 @@
 import java.io.File;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * Default implementation of {@link PlexusIoFileResourceCollection} for
@@ -55,6 +57,31 @@ public File getFile() {
      */
     protected abstract Iterator<PlexusIoResource> getEntries() throws IOException;
 
+    /**
+     * Returns the number of entries, if the archive supports random access to its entries by
+     * {@link #getEntry(int) index}. This allows {@link #parallelStream()} to split the entries
+     * into ranges. Archives, which can only be read sequentially, return -1, which is the default.
+     * @return The number of entries, or -1
+     * @throws java.io.IOException Reading the archive failed
+     * @since 3.8.0
+     */
+    protected int getEntryCount() throws IOException {
+        return -1;
+    }
+
+    /**
+     * Returns the entry with the given index, if the archive supports random access to its entries.
+     * The entries must be ordered like the ones returned by {@link #getEntries()}.
+     * @param index The entries index, between 0 (inclusive) and {@link #getEntryCount()} (exclusive)
+     * @return The entry
+     * @throws java.io.IOException Reading the archive failed
+     * @see #getEntryCount()
+     * @since 3.8.0
+     */
+    protected PlexusIoResource getEntry(int index) throws IOException {
+        throw new UnsupportedOperationException("Random access to entries is not supported");
+    }
+
     public Iterator<PlexusIoResource> getResources() throws IOException {
         return new FilteringIterator();
     }
@@ -62,6 +89,8 @@ public Iterator<PlexusIoResource> getResources() throws IOException {
     class FilteringIterator implements Iterator<PlexusIoResource>, Closeable {
         final Iterator<PlexusIoResource> it = getEntries();
 
+        final SubtreeFilter subtreeFilter = new SubtreeFilter();
+
         PlexusIoResource next;
 
         public FilteringIterator() throws IOException {}
@@ -70,7 +99,7 @@ boolean doNext() {
             while (it.hasNext()) {
                 PlexusIoResource candidate = it.next();
                 try {
-                    if (isSelected(candidate)) {
+                    if (isSelected(candidate, subtreeFilter)) {
                         next = candidate;
                         return true;
                     }
@@ -103,12 +132,92 @@ public void close() throws IOException {
         }
     }
 
+    /**
+     * Returns a spliterator, which splits along entry ranges, if the archive supports random access
+     * to its entries, and concurrent access. Otherwise, the spliterator splits by batching the
+     * {@link #getResources() iterator}.
+     * @since 3.8.0
+     */
+    @Override
+    public Spliterator<PlexusIoResource> spliterator() {
+        try {
+            final int count = isConcurrentAccessSupported() ? getEntryCount() : -1;
+            if (count >= 0) {
+                return new EntryRangeSpliterator(0, count);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return super.spliterator();
+    }
+
+    class EntryRangeSpliterator implements Spliterator<PlexusIoResource> {
+        final SubtreeFilter subtreeFilter = new SubtreeFilter();
+
+        int index;
+
+        final int end;
+
+        EntryRangeSpliterator(int index, int end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        public boolean tryAdvance(Consumer<? super PlexusIoResource> action) {
+            try {
+                while (index < end) {
+                    PlexusIoResource candidate = getEntry(index++);
+                    if (isSelected(candidate, subtreeFilter)) {
+                        action.accept(candidate);
+                        return true;
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return false;
+        }
+
+        public Spliterator<PlexusIoResource> trySplit() {
+            final int middle = index + (end - index) / 2;
+            if (middle == index) {
+                return null;
+            }
+            Spliterator<PlexusIoResource> prefix = new EntryRangeSpliterator(index, middle);
+            index = middle;
+            return prefix;
+        }
+
+        public long estimateSize() {
+            return end - index;
+        }
+
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL;
+        }
+    }
+
+    /**
+     * Returns, whether the given entry is selected, skipping the contents of directories,
+     * which can't hold selected entries, without invoking the file selectors.
+     */
+    private boolean isSelected(PlexusIoResource entry, SubtreeFilter subtreeFilter) throws IOException {
+        if (subtreeFilter.isPruned(entry)) {
+            return false;
+        }
+        if (entry.isDirectory() && !couldHoldSelected(entry.getName())) {
+            subtreeFilter.prune(entry);
+        }
+        return isSelected(entry);
+    }
+
     public Stream stream() {
         return resourceConsumer -> {
             Iterator<PlexusIoResource> it = getEntries();
+            SubtreeFilter subtreeFilter = new SubtreeFilter();
             while (it.hasNext()) {
                 final PlexusIoResource res = it.next();
-                if (isSelected(res)) {
+                if (isSelected(res, subtreeFilter)) {
                     resourceConsumer.accept(res);
                 }
             }
@@ -20,11 +20,15 @@
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 
 import org.codehaus.plexus.components.io.filemappers.FileMapper;
 import org.codehaus.plexus.components.io.filemappers.PrefixFileMapper;
+import org.codehaus.plexus.components.io.fileselectors.FileInfo;
 import org.codehaus.plexus.components.io.fileselectors.FileSelector;
+import org.codehaus.plexus.components.io.fileselectors.SelectorCost;
 import org.codehaus.plexus.components.io.functions.InputStreamTransformer;
 
 /**
@@ -50,6 +54,8 @@ public InputStream transform(@Nonnull PlexusIoResource resource, @Nonnull InputS
 
     private FileSelector[] fileSelectors;
 
+    private volatile SortedSelectors sortedSelectors;
+
     private boolean caseSensitive = true;
 
     private boolean usingDefaultExcludes = true;
@@ -60,6 +66,10 @@ public InputStream transform(@Nonnull PlexusIoResource resource, @Nonnull InputS
 
     private InputStreamTransformer streamTransformer = identityTransformer;
 
+    private ContentBuffers contentBuffers = ContentBuffers.getDefault();
+
+    private TransformMode transformMode = TransformMode.EAGER;
+
     protected AbstractPlexusIoResourceCollection() {}
 
     /**
@@ -106,6 +116,40 @@ protected InputStreamTransformer getStreamTransformer() {
         return streamTransformer;
     }
 
+    /**
+     * Sets the buffers, which hold the transformed contents of this collections resources.
+     * @param contentBuffers The buffers, or null to use {@link ContentBuffers#getDefault()}.
+     * @since 3.8.0
+     */
+    public void setContentBuffers(ContentBuffers contentBuffers) {
+        this.contentBuffers = contentBuffers == null ? ContentBuffers.getDefault() : contentBuffers;
+    }
+
+    /**
+     * Returns the buffers, which hold the transformed contents of this collections resources.
+     * @since 3.8.0
+     */
+    public ContentBuffers getContentBuffers() {
+        return contentBuffers;
+    }
+
+    /**
+     * Sets, when the contents of this collections resources are passed through the stream transformer.
+     * @param transformMode The transform mode, or null to use {@link TransformMode#EAGER}.
+     * @since 3.8.0
+     */
+    public void setTransformMode(TransformMode transformMode) {
+        this.transformMode = transformMode == null ? TransformMode.EAGER : transformMode;
+    }
+
+    /**
+     * Returns, when the contents of this collections resources are passed through the stream transformer.
+     * @since 3.8.0
+     */
+    public TransformMode getTransformMode() {
+        return transformMode;
+    }
+
     /**
      * Sets a string of patterns, which included files
      * should match.
@@ -186,11 +230,66 @@ public boolean isIncludingEmptyDirectories() {
         return includingEmptyDirectories;
     }
 
+    /**
+     * Returns, whether the file selectors select the given resource. The selectors are invoked in
+     * the order of their {@link FileSelector#getCost() cost}, so that a resource, which is rejected
+     * by a cheap selector, isn't passed to the more expensive ones.
+     */
     protected boolean isSelected(PlexusIoResource plexusIoResource) throws IOException {
+        final SortedSelectors sorted = getSortedSelectors();
+        if (sorted != null) {
+            for (FileSelector fileSelector : sorted.selectors) {
+                if (!fileSelector.isSelected(plexusIoResource)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns, whether the file selectors of cost {@link SelectorCost#NAME_ONLY} select a resource
+     * with the given name. This allows to reject resources, before their attributes are read, or
+     * the resources are created. Resources, which pass, must still be passed to
+     * {@link #isSelected(PlexusIoResource)}.
+     * @param name The resources name, as mapped by the file mappers
+     * @since 3.8.0
+     */
+    protected boolean isSelectedByName(@Nonnull String name) throws IOException {
+        final SortedSelectors sorted = getSortedSelectors();
+        if (sorted != null && sorted.nameOnly > 0) {
+            final FileInfo fileInfo = new NameOnlyFileInfo(name);
+            for (int i = 0; i < sorted.nameOnly; i++) {
+                if (!sorted.selectors[i].isSelected(fileInfo)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private SortedSelectors getSortedSelectors() {
+        final FileSelector[] selectors = getFileSelectors();
+        if (selectors == null) {
+            return null;
+        }
+        SortedSelectors sorted = sortedSelectors;
+        if (sorted == null || !sorted.isSortedFrom(selectors)) {
+            sorted = new SortedSelectors(selectors);
+            sortedSelectors = sorted;
+        }
+        return sorted;
+    }
+
+    /**
+     * Returns, whether the file selectors could select any resource below the given directory.
+     * @since 3.8.0
+     */
+    protected boolean couldHoldSelected(@Nonnull String directoryName) {
         FileSelector[] fileSelectors = getFileSelectors();
         if (fileSelectors != null) {
             for (FileSelector fileSelector : fileSelectors) {
-                if (!fileSelector.isSelected(plexusIoResource)) {
+                if (!fileSelector.couldHoldSelected(directoryName)) {
                     return false;
                 }
             }
@@ -198,6 +297,115 @@ protected boolean isSelected(PlexusIoResource plexusIoResource) throws IOExcepti
         return true;
     }
 
+    /**
+     * The file selectors, stably sorted by their cost.
+     */
+    private static final class SortedSelectors {
+        private final FileSelector[] source;
+
+        final FileSelector[] selectors;
+
+        /**
+         * The number of selectors of cost {@link SelectorCost#NAME_ONLY}, which come first.
+         */
+        final int nameOnly;
+
+        SortedSelectors(FileSelector[] selectors) {
+            this.source = selectors.clone();
+            this.selectors = selectors.clone();
+            Arrays.sort(this.selectors, Comparator.comparing(FileSelector::getCost));
+            int count = 0;
+            while (count < this.selectors.length && this.selectors[count].getCost() == SelectorCost.NAME_ONLY) {
+                count++;
+            }
+            this.nameOnly = count;
+        }
+
+        /**
+         * Returns, whether these are the given selectors, which may have been modified in place.
+         */
+        boolean isSortedFrom(FileSelector[] selectors) {
+            if (selectors.length != source.length) {
+                return false;
+            }
+            for (int i = 0; i < selectors.length; i++) {
+                if (selectors[i] != source[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The file info, which is passed to selectors of cost {@link SelectorCost#NAME_ONLY}.
+     */
+    private static final class NameOnlyFileInfo implements FileInfo {
+        private final String name;
+
+        NameOnlyFileInfo(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public InputStream getContents() {
+            throw nameOnly();
+        }
+
+        public boolean isFile() {
+            throw nameOnly();
+        }
+
+        public boolean isDirectory() {
+            throw nameOnly();
+        }
+
+        public boolean isSymbolicLink() {
+            throw nameOnly();
+        }
+
+        private UnsupportedOperationException nameOnly() {
+            return new UnsupportedOperationException(
+                    "A selector of cost " + SelectorCost.NAME_ONLY + " may only use the name of " + name);
+        }
+    }
+
+    /**
+     * Skips the contents of directories, which can't hold selected resources, while
+     * iterating over resources, which list a directory before its contents.
+     * @since 3.8.0
+     */
+    protected static final class SubtreeFilter {
+        private String prunedPrefix;
+
+        public SubtreeFilter() {}
+
+        /**
+         * Returns, whether the given resource is below a pruned directory.
+         */
+        public boolean isPruned(@Nonnull PlexusIoResource resource) {
+            return prunedPrefix != null && normalize(resource.getName()).startsWith(prunedPrefix);
+        }
+
+        /**
+         * Skips the resources below the given directory from now on.
+         */
+        public void prune(@Nonnull PlexusIoResource directory) {
+            String name = normalize(directory.getName());
+            if (!name.isEmpty()) {
+                prunedPrefix = name + '/';
+            }
+        }
+
+        private static String normalize(String name) {
+            String result = name.replace('\\', '/');
+            return result.endsWith("/") ? result.substring(0, result.length() - 1) : result;
+        }
+    }
+
     /**
      * Returns the file name mappers, which are used to transform
      * the resource names.
@@ -243,7 +451,8 @@ public InputStream getInputStream(PlexusIoResource resource) throws IOException
     }
 
     public PlexusIoResource resolve(final PlexusIoResource resource) throws IOException {
-        final Deferred deferred = new Deferred(resource, this, streamTransformer != identityTransformer);
+        final Deferred deferred = new Deferred(
+                resource, this, streamTransformer != identityTransformer, contentBuffers, transformMode);
         return deferred.asResource();
     }
 
@@ -16,6 +16,8 @@
  * limitations under the License.
  */
 
+import org.codehaus.plexus.components.io.attributes.AttributeDetail;
+import org.codehaus.plexus.components.io.attributes.AttributeInterner;
 import org.codehaus.plexus.components.io.attributes.PlexusIoResourceAttributeUtils;
 import org.codehaus.plexus.components.io.attributes.PlexusIoResourceAttributes;
 
@@ -32,6 +34,10 @@ public abstract class AbstractPlexusIoResourceCollectionWithAttributes extends A
 
     private PlexusIoResourceAttributes overrideDirAttributes;
 
+    private AttributeInterner attributeInterner;
+
+    private AttributeDetail attributeDetail = AttributeDetail.FULL;
+
     protected AbstractPlexusIoResourceCollectionWithAttributes() {}
 
     protected PlexusIoResourceAttributes getDefaultFileAttributes() {
@@ -66,14 +72,58 @@ protected void setOverrideDirAttributes(final PlexusIoResourceAttributes overrid
         this.overrideDirAttributes = overrideDirAttributes;
     }
 
+    /**
+     * Returns the interner, which deduplicates the merged attributes, or null, if every resource
+     * gets attributes of its own. Defaults to null.
+     * @since 3.8.0
+     */
+    public AttributeInterner getAttributeInterner() {
+        return attributeInterner;
+    }
+
+    /**
+     * Sets the interner, which deduplicates the merged attributes. Resources with equal attributes
+     * will then share an attributes object, which can't be modified. The merged attributes of files
+     * are then no {@link org.codehaus.plexus.components.io.attributes.FileAttributes}, but the size,
+     * and modification time are still available from the resources.
+     * @param attributeInterner The interner, for example {@link AttributeInterner#getGlobal()}, or
+     *   null to disable interning
+     * @since 3.8.0
+     */
+    public void setAttributeInterner(AttributeInterner attributeInterner) {
+        this.attributeInterner = attributeInterner;
+    }
+
+    /**
+     * Returns the attributes, which are read for each resource. Defaults to {@link AttributeDetail#FULL}.
+     * @since 3.8.0
+     */
+    public AttributeDetail getAttributeDetail() {
+        return attributeDetail;
+    }
+
+    /**
+     * Sets the attributes, which are read for each resource. Lower levels save system calls, and
+     * memory, if the consumer doesn't need all attributes, for example, because it only lists the
+     * resources, or because the override attributes replace them anyway. The override, and default
+     * attributes are applied at every level. Collections, which don't read their attributes from a
+     * file system, may ignore this.
+     * @since 3.8.0
+     */
+    public void setAttributeDetail(AttributeDetail attributeDetail) {
+        if (attributeDetail == null) {
+            throw new IllegalArgumentException("The attribute detail must not be null");
+        }
+        this.attributeDetail = attributeDetail;
+    }
+
     protected PlexusIoResourceAttributes mergeAttributes(PlexusIoResourceAttributes currentAttrs, boolean isDirectory) {
-        if (isDirectory) {
-            currentAttrs = PlexusIoResourceAttributeUtils.mergeAttributes(
-                    getOverrideDirAttributes(), currentAttrs, getDefaultDirAttributes());
-        } else {
-            currentAttrs = PlexusIoResourceAttributeUtils.mergeAttributes(
-                    getOverrideFileAttributes(), currentAttrs, getDefaultFileAttributes());
+        final PlexusIoResourceAttributes override =
+                isDirectory ? getOverrideDirAttributes() : getOverrideFileAttributes();
+        final PlexusIoResourceAttributes def = isDirectory ? getDefaultDirAttributes() : getDefaultFileAttributes();
+        if (attributeInterner != null) {
+            return attributeInterner.merge(override, currentAttrs, def);
         }
-        return currentAttrs;
+        return PlexusIoResourceAttributeUtils.mergeAttributes(override, currentAttrs, def);
     }
 }
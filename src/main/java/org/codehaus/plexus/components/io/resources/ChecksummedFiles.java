@@ -0,0 +1,131 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads, and writes the files of the persistent caches, like the {@link ScanIndex}. A file starts
+ * with a magic number, and a version, and ends with a CRC32 of everything before it. Files are
+ * replaced atomically, if the file system supports it, so that a reader never sees a partially
+ * written file.
+ */
+final class ChecksummedFiles {
+    /**
+     * Reads the contents, which follow the header.
+     */
+    interface Reader<T> {
+        /**
+         * @return The contents, or null, if they don't apply, for example, because they have been
+         *   written for another base directory
+         */
+        T read(DataInputStream data) throws IOException;
+    }
+
+    /**
+     * Writes the contents, which follow the header.
+     */
+    interface Writer {
+        void write(DataOutputStream data) throws IOException;
+    }
+
+    private ChecksummedFiles() {}
+
+    /**
+     * Reads the given file.
+     * @return The contents, or null, if the file is missing, has another magic number, or version,
+     *   the reader doesn't accept the contents, or the checksum doesn't match
+     */
+    static <T> T read(File file, int magic, int version, Reader<T> reader) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = Files.newInputStream(file.toPath());
+                DataInputStream data =
+                        new DataInputStream(new CheckedInputStream(new BufferedInputStream(in), crc))) {
+            if (data.readInt() != magic || data.readInt() != version) {
+                return null;
+            }
+            T contents = reader.read(data);
+            if (contents == null) {
+                return null;
+            }
+            long expected = crc.getValue();
+            if (data.readLong() != expected) {
+                return null;
+            }
+            return contents;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the given file, creating its parent directories, if required. The new contents are
+     * written to a temporary file in the same directory first, which is then moved over the file.
+     */
+    static void write(File file, int magic, int version, Writer writer) throws IOException {
+        Path target = file.toPath();
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        try {
+            write(temp, magic, version, writer);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignore) {
+                    // Nothing we can do
+                }
+            }
+        }
+    }
+
+    private static void write(Path path, int magic, int version, Writer writer) throws IOException {
+        CRC32 crc = new CRC32();
+        try (OutputStream out = Files.newOutputStream(path);
+                CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(out), crc);
+                DataOutputStream data = new DataOutputStream(checked)) {
+            data.writeInt(magic);
+            data.writeInt(version);
+            writer.write(data);
+            data.flush();
+            // The checksum itself isn't part of the checksum
+            new DataOutputStream(out).writeLong(crc.getValue());
+        }
+    }
+}
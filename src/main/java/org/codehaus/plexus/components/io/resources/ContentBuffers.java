@@ -0,0 +1,545 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import javax.annotation.Nonnull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
+
+/**
+ * Buffers the transformed contents of resources. The contents are kept in memory, as long
+ * as they don't exceed the per resource threshold, and as long as the memory, which is held
+ * by all buffers of this instance, doesn't exceed the memory budget. Otherwise, the contents
+ * are written to a temporary file.
+ * <p>
+ * The memory is allocated in chunks, which are taken from a pool. The chunks of a buffer are
+ * returned to the pool, and its temporary file is deleted, once the resource, which holds the
+ * buffer, is no longer reachable. Temporary files, which are still in use, are deleted by
+ * {@link #close()}, which is invoked for the {@link #getDefault() default instance}, when the
+ * JVM exits. An instance is typically shared by all resources of a collection, see
+ * {@link AbstractPlexusIoResourceCollection#setContentBuffers(ContentBuffers)}, and may be used
+ * concurrently.
+ * @since 3.8.0
+ */
+public class ContentBuffers implements Closeable {
+    /**
+     * The per resource threshold, which has been used before buffers became configurable.
+     */
+    public static final long DEFAULT_THRESHOLD = 5000000;
+
+    private static final String PREFIX = "p-archiver";
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int MAX_POOLED_CHUNKS = 64;
+
+    private static final ContentBuffers DEFAULT =
+            new ContentBuffers(Runtime.getRuntime().maxMemory() / 4, DEFAULT_THRESHOLD, null);
+
+    static {
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(DEFAULT::close, "ContentBuffers cleanup"));
+        } catch (IllegalStateException | SecurityException e) {
+            // The JVM is already exiting, or the files are left to the system
+        }
+    }
+
+    private final long memoryBudget;
+
+    private final long threshold;
+
+    private final File tempDirectory;
+
+    private final AtomicLong memoryUsed = new AtomicLong();
+
+    private final Queue<byte[]> pool = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pooledChunks = new AtomicInteger();
+
+    private final ReferenceQueue<Buffer> unreachable = new ReferenceQueue<>();
+
+    private final Set<Reclaimer> reclaimers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new instance.
+     * @param memoryBudget The maximum number of bytes, which are held in memory by all buffers together.
+     * @param threshold The maximum size of contents, which are kept in memory.
+     * @param tempDirectory The directory, where temporary files are created, or null for the
+     *   default temporary directory.
+     */
+    public ContentBuffers(long memoryBudget, long threshold, File tempDirectory) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Invalid memory budget: " + memoryBudget);
+        }
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Invalid threshold: " + threshold);
+        }
+        this.memoryBudget = memoryBudget;
+        this.threshold = threshold;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Returns the instance, which is used by collections, unless configured otherwise. It
+     * keeps up to {@link #DEFAULT_THRESHOLD} bytes per resource in memory, and up to a quarter
+     * of the maximum heap size in total.
+     */
+    public static ContentBuffers getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the maximum number of bytes, which are held in memory by all buffers together.
+     */
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Returns the maximum size of contents, which are kept in memory.
+     */
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Returns the directory, where temporary files are created, or null for the default
+     * temporary directory.
+     */
+    public File getTempDirectory() {
+        return tempDirectory;
+    }
+
+    /**
+     * Returns the number of bytes, which are currently held in memory by buffers.
+     */
+    public long getMemoryUsed() {
+        reclaimUnreachable();
+        return memoryUsed.get();
+    }
+
+    /**
+     * Deletes the temporary files of all buffers, which are still in use. Spilled contents of
+     * resources, which use these buffers, can't be read afterwards, while contents, which are
+     * held in memory, remain readable. The instance may still be used to create new buffers.
+     */
+    @Override
+    public void close() {
+        reclaimUnreachable();
+        for (Reclaimer reclaimer : reclaimers) {
+            reclaimer.deleteFile();
+        }
+    }
+
+    /**
+     * Reads the given stream completely into a new buffer. The stream isn't closed.
+     */
+    Buffer buffer(@Nonnull InputStream in) throws IOException {
+        reclaimUnreachable();
+        final List<byte[]> chunks = new ArrayList<>();
+        long size = 0;
+        int position = CHUNK_SIZE;
+        try {
+            while (true) {
+                if (position == CHUNK_SIZE) {
+                    final byte[] chunk = acquire();
+                    if (chunk == null) {
+                        return spill(chunks, position, in);
+                    }
+                    chunks.add(chunk);
+                    position = 0;
+                }
+                final int read = in.read(chunks.get(chunks.size() - 1), position, CHUNK_SIZE - position);
+                if (read == -1) {
+                    break;
+                }
+                position += read;
+                size += read;
+                if (size > threshold) {
+                    return spill(chunks, position, in);
+                }
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            release(chunks);
+            throw e;
+        }
+        return keep(chunks, position, size);
+    }
+
+    private Buffer keep(List<byte[]> chunks, int position, long size) {
+        final int last = chunks.size() - 1;
+        final byte[] chunk = chunks.get(last);
+        if (position < CHUNK_SIZE) {
+            // Only the actual contents are kept, and the chunk is reused.
+            if (position == 0) {
+                chunks.remove(last);
+            } else {
+                chunks.set(last, Arrays.copyOf(chunk, position));
+            }
+            memoryUsed.addAndGet(position - CHUNK_SIZE);
+            recycle(chunk);
+        }
+        final Buffer buffer = new Buffer(this, chunks.toArray(new byte[chunks.size()][]), size, null);
+        reclaimers.add(new Reclaimer(buffer, this));
+        return buffer;
+    }
+
+    private Buffer spill(List<byte[]> chunks, int position, InputStream in) throws IOException {
+        final File file = (tempDirectory == null
+                        ? Files.createTempFile(PREFIX, null)
+                        : Files.createTempFile(tempDirectory.toPath(), PREFIX, null))
+                .toFile();
+        try {
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(file.toPath())) {
+                for (int i = 0; i < chunks.size(); i++) {
+                    final int length = i == chunks.size() - 1 ? position : CHUNK_SIZE;
+                    out.write(chunks.get(i), 0, length);
+                    size += length;
+                }
+                release(chunks);
+                size += IOUtils.copyLarge(in, out);
+            }
+            final Buffer buffer = new Buffer(this, null, size, file);
+            reclaimers.add(new Reclaimer(buffer, this));
+            return buffer;
+        } catch (IOException | RuntimeException | Error e) {
+            file.delete();
+            throw e;
+        }
+    }
+
+    private byte[] acquire() {
+        long used;
+        do {
+            used = memoryUsed.get();
+            if (used + CHUNK_SIZE > memoryBudget) {
+                return null;
+            }
+        } while (!memoryUsed.compareAndSet(used, used + CHUNK_SIZE));
+        final byte[] chunk = pool.poll();
+        if (chunk == null) {
+            return new byte[CHUNK_SIZE];
+        }
+        pooledChunks.decrementAndGet();
+        return chunk;
+    }
+
+    private void release(List<byte[]> chunks) {
+        for (byte[] chunk : chunks) {
+            memoryUsed.addAndGet(-chunk.length);
+            recycle(chunk);
+        }
+        chunks.clear();
+    }
+
+    private void recycle(byte[] chunk) {
+        if (chunk.length == CHUNK_SIZE) {
+            if (pooledChunks.incrementAndGet() <= MAX_POOLED_CHUNKS) {
+                pool.offer(chunk);
+            } else {
+                pooledChunks.decrementAndGet();
+            }
+        }
+    }
+
+    private void reclaimUnreachable() {
+        for (Reference<? extends Buffer> ref = unreachable.poll(); ref != null; ref = unreachable.poll()) {
+            final Reclaimer reclaimer = (Reclaimer) ref;
+            if (reclaimers.remove(reclaimer)) {
+                reclaimer.reclaim();
+            }
+        }
+    }
+
+    /**
+     * The buffered contents of a single resource, which may be read any number of times.
+     */
+    static final class Buffer {
+        private final ContentBuffers owner;
+
+        private final byte[][] chunks;
+
+        private final long size;
+
+        private final File file;
+
+        private Buffer(ContentBuffers owner, byte[][] chunks, long size, File file) {
+            this.owner = owner;
+            this.chunks = chunks;
+            this.size = size;
+            this.file = file;
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        boolean isInMemory() {
+            return file == null;
+        }
+
+        @Nonnull
+        InputStream getContents() throws IOException {
+            if (file != null) {
+                // The stream refers to this buffer, so that the file isn't deleted while it is open.
+                return new FileInputStream(file) {
+                    @SuppressWarnings("unused")
+                    private final Buffer buffer = Buffer.this;
+                };
+            }
+            return new ChunksInputStream(this);
+        }
+
+        @Nonnull
+        SeekableByteChannel getChannel() throws IOException {
+            if (file != null) {
+                return ResourceChannels.open(file);
+            }
+            return new ChunksChannel(this);
+        }
+
+        long transferTo(@Nonnull WritableByteChannel target) throws IOException {
+            if (file != null) {
+                return ResourceChannels.transferFile(file, target);
+            }
+            for (byte[] chunk : chunks) {
+                ResourceChannels.write(ByteBuffer.wrap(chunk), target);
+            }
+            return size;
+        }
+
+        /**
+         * Copies the contents into a {@link DeferredFileOutputStream}, which has the threshold of
+         * the owning instance. If the copy is written to a temporary file, that file is deleted
+         * along with this buffer.
+         */
+        @Nonnull
+        DeferredFileOutputStream toDeferredStream() throws IOException {
+            final DeferredFileOutputStream dfos = DeferredFileOutputStream.builder()
+                    .setThreshold((int) Math.min(owner.threshold, Integer.MAX_VALUE))
+                    .setPrefix(PREFIX)
+                    .setDirectory(owner.tempDirectory)
+                    .get();
+            try (InputStream in = getContents();
+                    DeferredFileOutputStream out = dfos) {
+                IOUtils.copy(in, out);
+            } catch (IOException | RuntimeException | Error e) {
+                if (dfos.getFile() != null) {
+                    dfos.getFile().delete();
+                }
+                throw e;
+            }
+            if (!dfos.isInMemory()) {
+                owner.reclaimers.add(new Reclaimer(this, owner, null, dfos.getFile()));
+            }
+            return dfos;
+        }
+    }
+
+    /**
+     * A read only channel on the chunks of a buffer, which is kept reachable, until the channel is
+     * no longer used. All chunks, except for the last, have the same size.
+     */
+    private static final class ChunksChannel implements SeekableByteChannel {
+        private final Buffer buffer;
+
+        private long position;
+
+        private boolean open = true;
+
+        ChunksChannel(Buffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public int read(ByteBuffer dst) throws IOException {
+            ensureOpen();
+            if (position >= buffer.size) {
+                return -1;
+            }
+            final byte[] chunk = buffer.chunks[(int) (position / CHUNK_SIZE)];
+            final int offset = (int) (position % CHUNK_SIZE);
+            final int length = Math.min(dst.remaining(), chunk.length - offset);
+            dst.put(chunk, offset, length);
+            position += length;
+            return length;
+        }
+
+        public int write(ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+
+        public long position() throws IOException {
+            ensureOpen();
+            return position;
+        }
+
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            ensureOpen();
+            if (newPosition < 0) {
+                throw new IllegalArgumentException("Invalid position: " + newPosition);
+            }
+            position = newPosition;
+            return this;
+        }
+
+        public long size() throws IOException {
+            ensureOpen();
+            return buffer.size;
+        }
+
+        public SeekableByteChannel truncate(long size) {
+            throw new NonWritableChannelException();
+        }
+
+        public boolean isOpen() {
+            return open;
+        }
+
+        public void close() {
+            open = false;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+        }
+    }
+
+    /**
+     * Reads the chunks of a buffer, which is kept reachable, until the stream is no longer used.
+     */
+    private static final class ChunksInputStream extends InputStream {
+        private final Buffer buffer;
+
+        private int chunk;
+
+        private int position;
+
+        private long remaining;
+
+        ChunksInputStream(Buffer buffer) {
+            this.buffer = buffer;
+            this.remaining = buffer.size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            final byte[] current = buffer.chunks[chunk];
+            final int b = current[position++] & 0xff;
+            remaining--;
+            if (position == current.length) {
+                chunk++;
+                position = 0;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(@Nonnull byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining == 0) {
+                return -1;
+            }
+            final byte[] current = buffer.chunks[chunk];
+            final int length = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, length);
+            position += length;
+            remaining -= length;
+            if (position == current.length) {
+                chunk++;
+                position = 0;
+            }
+            return length;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(remaining, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Releases the memory, or the temporary file of a buffer, which is no longer reachable.
+     */
+    private static final class Reclaimer extends PhantomReference<Buffer> {
+        private final ContentBuffers owner;
+
+        private final byte[][] chunks;
+
+        private final File file;
+
+        Reclaimer(Buffer buffer, ContentBuffers owner) {
+            this(buffer, owner, buffer.chunks, buffer.file);
+        }
+
+        Reclaimer(Buffer buffer, ContentBuffers owner, byte[][] chunks, File file) {
+            super(buffer, owner.unreachable);
+            this.owner = owner;
+            this.chunks = chunks;
+            this.file = file;
+        }
+
+        void reclaim() {
+            if (chunks != null) {
+                for (byte[] chunk : chunks) {
+                    owner.memoryUsed.addAndGet(-chunk.length);
+                    owner.recycle(chunk);
+                }
+            }
+            deleteFile();
+        }
+
+        void deleteFile() {
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+}
@@ -17,70 +17,66 @@
 
 import javax.annotation.Nonnull;
 
-import java.io.ByteArrayInputStream;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.codehaus.plexus.components.io.functions.ChannelSupplier;
 import org.codehaus.plexus.components.io.functions.ContentSupplier;
 import org.codehaus.plexus.components.io.functions.NameSupplier;
 import org.codehaus.plexus.components.io.functions.SizeSupplier;
 import org.codehaus.plexus.components.io.resources.proxy.ProxyFactory;
 
-class Deferred implements ContentSupplier, NameSupplier, SizeSupplier {
-    final DeferredFileOutputStream dfos;
+class Deferred implements ContentSupplier, NameSupplier, SizeSupplier, ChannelSupplier {
+    final TransformedContents transformedContents;
 
     final PlexusIoResource resource;
 
     final PlexusIoResourceCollection owner;
 
-    public Deferred(final PlexusIoResource resource, PlexusIoResourceCollection owner, boolean hasTransformer)
+    public Deferred(
+            final PlexusIoResource resource,
+            PlexusIoResourceCollection owner,
+            boolean hasTransformer,
+            ContentBuffers contentBuffers,
+            TransformMode transformMode)
             throws IOException {
         this.resource = resource;
         this.owner = owner;
-        dfos = hasTransformer
-                ? DeferredFileOutputStream.builder()
-                        .setThreshold(5000000)
-                        .setPrefix("p-archiver")
-                        .get()
+        transformedContents = hasTransformer
+                ? new TransformedContents(() -> owner.getInputStream(resource), contentBuffers, transformMode)
                 : null;
-        if (dfos != null) {
-            try (InputStream inputStream = owner.getInputStream(resource);
-                    DeferredFileOutputStream closeable = dfos) {
-                IOUtils.copy(inputStream, dfos);
-            }
-        }
     }
 
     @Nonnull
     public InputStream getContents() throws IOException {
-        if (dfos == null) {
+        if (transformedContents == null) {
             return resource.getContents();
         }
-        if (dfos.isInMemory()) {
-            return new ByteArrayInputStream(dfos.getData());
-        } else {
-            return new FileInputStream(dfos.getFile()) {
-                @Override
-                public void close() throws IOException {
-                    super.close();
-                    dfos.getFile().delete();
-                }
-            };
-        }
+        return transformedContents.getContents();
     }
 
     public long getSize() {
-        if (dfos == null) {
+        if (transformedContents == null) {
             return resource.getSize();
         }
-        if (dfos.isInMemory()) {
-            return dfos.getByteCount();
-        } else {
-            return dfos.getFile().length();
+        return transformedContents.getSize();
+    }
+
+    @Nonnull
+    public SeekableByteChannel getChannel() throws IOException {
+        if (transformedContents == null) {
+            return ResourceChannels.getChannel(resource);
+        }
+        return transformedContents.getChannel();
+    }
+
+    public long transferTo(@Nonnull WritableByteChannel target) throws IOException {
+        if (transformedContents == null) {
+            return ResourceChannels.transferTo(resource, target);
         }
+        return transformedContents.transferTo(target);
     }
 
     public String getName() {
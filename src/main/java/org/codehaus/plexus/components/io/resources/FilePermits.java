@@ -0,0 +1,170 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import javax.annotation.Nonnull;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.codehaus.plexus.components.io.functions.ChannelSupplier;
+import org.codehaus.plexus.components.io.functions.ContentSupplier;
+import org.codehaus.plexus.components.io.resources.proxy.ProxyFactory;
+
+/**
+ * Limits the number of resources, which are open at the same time: Each stream, or channel,
+ * which is opened on a resource, holds a permit, until it is closed.
+ */
+final class FilePermits {
+    private final Semaphore permits;
+
+    FilePermits(int maxOpenFiles) {
+        if (maxOpenFiles < 1) {
+            throw new IllegalArgumentException("Invalid number of open files: " + maxOpenFiles);
+        }
+        permits = new Semaphore(maxOpenFiles);
+    }
+
+    /**
+     * Returns a resource with the same contents, which acquires a permit for opening them.
+     */
+    PlexusIoResource limit(PlexusIoResource resource) {
+        if (resource.isDirectory()) {
+            return resource;
+        }
+        return ProxyFactory.createProxy(resource, new Contents(resource));
+    }
+
+    private void acquire() throws InterruptedIOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a file permit");
+        }
+    }
+
+    private final class Contents implements ContentSupplier, ChannelSupplier {
+        private final PlexusIoResource resource;
+
+        Contents(PlexusIoResource resource) {
+            this.resource = resource;
+        }
+
+        @Nonnull
+        public InputStream getContents() throws IOException {
+            acquire();
+            final InputStream in;
+            try {
+                in = resource.getContents();
+            } catch (IOException | RuntimeException | Error e) {
+                permits.release();
+                throw e;
+            }
+            final AtomicBoolean open = new AtomicBoolean(true);
+            return new FilterInputStream(in) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        if (open.compareAndSet(true, false)) {
+                            permits.release();
+                        }
+                    }
+                }
+            };
+        }
+
+        @Nonnull
+        public SeekableByteChannel getChannel() throws IOException {
+            acquire();
+            try {
+                return new PermitChannel(ResourceChannels.getChannel(resource));
+            } catch (IOException | RuntimeException | Error e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        public long transferTo(@Nonnull WritableByteChannel target) throws IOException {
+            acquire();
+            try {
+                return ResourceChannels.transferTo(resource, target);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private final class PermitChannel implements SeekableByteChannel {
+        private final SeekableByteChannel channel;
+
+        private final AtomicBoolean open = new AtomicBoolean(true);
+
+        PermitChannel(SeekableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        public int read(ByteBuffer dst) throws IOException {
+            return channel.read(dst);
+        }
+
+        public int write(ByteBuffer src) throws IOException {
+            return channel.write(src);
+        }
+
+        public long position() throws IOException {
+            return channel.position();
+        }
+
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            channel.position(newPosition);
+            return this;
+        }
+
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        public SeekableByteChannel truncate(long size) throws IOException {
+            channel.truncate(size);
+            return this;
+        }
+
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        public void close() throws IOException {
+            try {
+                channel.close();
+            } finally {
+                if (open.compareAndSet(true, false)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
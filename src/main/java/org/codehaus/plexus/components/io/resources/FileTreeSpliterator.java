@@ -0,0 +1,215 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over the resources of a {@link PlexusIoFileResourceCollection}, which walks the
+ * directory tree while advancing, like {@link LazyFileResourceIterator}, and splits along directory
+ * boundaries: A split takes the first half of the not yet visited children of the outermost pending
+ * directory, so each half covers whole subtrees, and the largest subtrees are handed out first.
+ * <p>
+ * Resources are encountered in pre-order, that is, a directory is followed by its contents. The
+ * spliterator is late-binding: No directory is listed before the first traversal, or split.
+ */
+class FileTreeSpliterator implements Spliterator<PlexusIoResource> {
+    private final PlexusIoFileResourceCollection collection;
+
+    private final FileTreeWalker walker;
+
+    /**
+     * The number of spliterators, which haven't been exhausted yet. The scan is complete, if all
+     * of them are exhausted.
+     */
+    private final AtomicInteger active;
+
+    /**
+     * The pending directories, innermost first.
+     */
+    private final Deque<Frame> stack;
+
+    private PlexusIoResource next;
+
+    private FileTreeWalker.Entry pendingRoot;
+
+    private boolean exhausted;
+
+    FileTreeSpliterator(PlexusIoFileResourceCollection collection, FileTreeWalker walker) throws IOException {
+        this(collection, walker, new AtomicInteger(1), new ArrayDeque<>());
+        this.pendingRoot = walker.root();
+    }
+
+    private FileTreeSpliterator(
+            PlexusIoFileResourceCollection collection,
+            FileTreeWalker walker,
+            AtomicInteger active,
+            Deque<Frame> stack) {
+        this.collection = collection;
+        this.walker = walker;
+        this.active = active;
+        this.stack = stack;
+    }
+
+    public boolean tryAdvance(Consumer<? super PlexusIoResource> action) {
+        PlexusIoResource resource = next;
+        next = null;
+        if (resource == null) {
+            try {
+                resource = advance();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            if (resource == null) {
+                return false;
+            }
+        }
+        action.accept(resource);
+        return true;
+    }
+
+    public Spliterator<PlexusIoResource> trySplit() {
+        try {
+            if (pendingRoot != null) {
+                FileTreeWalker.Entry root = pendingRoot;
+                pendingRoot = null;
+                next = visit(root);
+            }
+            Frame outermost = stack.peekLast();
+            if (outermost == null) {
+                return null;
+            }
+            if (outermost.names == null) {
+                outermost.names = walker.list(outermost.directory);
+                outermost.end = outermost.names.length;
+            }
+            final Deque<Frame> prefix = new ArrayDeque<>();
+            final int remaining = outermost.end - outermost.index;
+            if (remaining > 1) {
+                // The prefix takes everything up to the first half of the outermost directories children.
+                final int middle = outermost.index + remaining / 2;
+                stack.removeLast();
+                prefix.addAll(stack);
+                prefix.addLast(outermost.range(outermost.index, middle));
+                stack.clear();
+                stack.addLast(outermost.range(middle, outermost.end));
+            } else if (stack.size() > 1) {
+                // The prefix takes everything, but the last child of the outermost directory.
+                stack.removeLast();
+                prefix.addAll(stack);
+                stack.clear();
+                stack.addLast(outermost);
+            } else {
+                return null;
+            }
+            active.incrementAndGet();
+            FileTreeSpliterator result = new FileTreeSpliterator(collection, walker, active, prefix);
+            result.next = next;
+            next = null;
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    public int characteristics() {
+        return ORDERED | DISTINCT | NONNULL;
+    }
+
+    private PlexusIoResource advance() throws IOException {
+        if (pendingRoot != null) {
+            FileTreeWalker.Entry root = pendingRoot;
+            pendingRoot = null;
+            PlexusIoResource resource = visit(root);
+            if (resource != null) {
+                return resource;
+            }
+        }
+        for (Frame frame = stack.peek(); frame != null; frame = stack.peek()) {
+            if (frame.names == null) {
+                frame.names = walker.list(frame.directory);
+                frame.end = frame.names.length;
+            }
+            if (frame.index >= frame.end) {
+                stack.pop();
+                continue;
+            }
+            FileTreeWalker.Entry entry = walker.child(frame.directory, frame.names[frame.index++]);
+            if (entry != null) {
+                PlexusIoResource resource = visit(entry);
+                if (resource != null) {
+                    return resource;
+                }
+            }
+        }
+        if (!exhausted) {
+            exhausted = true;
+            if (active.decrementAndGet() == 0) {
+                walker.scanCompleted();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Schedules the entries children, if any, and returns the entries resource, if it is selected.
+     */
+    private PlexusIoResource visit(FileTreeWalker.Entry entry) throws IOException {
+        if (entry.traversable) {
+            stack.push(new Frame(entry));
+        }
+        if (!entry.selected || (entry.directory && !collection.isIncludingEmptyDirectories())) {
+            return null;
+        }
+        PlexusIoResource resource = collection.createResource(entry);
+        return collection.isSelected(resource) ? resource : null;
+    }
+
+    private static final class Frame {
+        final FileTreeWalker.Entry directory;
+
+        String[] names;
+
+        int index;
+
+        int end;
+
+        Frame(FileTreeWalker.Entry directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * Returns a frame for the children with the given indexes, sharing the listing.
+         */
+        Frame range(int from, int to) {
+            Frame frame = new Frame(directory);
+            frame.names = names;
+            frame.index = from;
+            frame.end = to;
+            return frame;
+        }
+    }
+}
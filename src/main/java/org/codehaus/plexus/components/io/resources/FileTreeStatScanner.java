@@ -0,0 +1,240 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Checks the entries of a {@link PlexusIoFileResourceCollection}, using only the attributes, which
+ * are read while walking the directory tree: No contents are opened, and no stream transformers are
+ * applied. With a parallelism greater than 1, directories are walked in parallel on a
+ * {@link ForkJoinPool}, and otherwise by the calling thread. The walk stops, as soon as the visitor
+ * has seen enough.
+ * <p>
+ * The candidate filter is invoked by the walking threads, while the file selectors and the visitor
+ * are always invoked by the calling thread. The walking threads wait, if they are too far ahead of
+ * the calling thread, so the memory used doesn't grow with the size of the tree.
+ */
+class FileTreeStatScanner {
+    /**
+     * Receives the selected entries, in no particular order.
+     */
+    interface Visitor {
+        /**
+         * Visits an entry.
+         * @param name The entries resource name, as mapped by the collections file mappers
+         * @param lastModified The entries modification time in milliseconds
+         * @return True to stop the scan
+         */
+        boolean visit(String name, long lastModified) throws IOException;
+    }
+
+    private static final Object END = new Object();
+
+    /**
+     * The number of entries, which the walking threads may queue ahead of the calling thread.
+     */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private final PlexusIoFileResourceCollection collection;
+
+    private final FileTreeWalker walker;
+
+    private final int parallelism;
+
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    private Predicate<FileTreeWalker.Entry> candidate;
+
+    FileTreeStatScanner(PlexusIoFileResourceCollection collection, FileTreeWalker walker, int parallelism) {
+        this.collection = collection;
+        this.walker = walker;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Walks the tree, passing the selected entries, which match the candidate filter, to the visitor.
+     * @return True, if the visitor stopped the scan
+     */
+    boolean scan(Predicate<FileTreeWalker.Entry> candidate, Visitor visitor) throws IOException {
+        this.candidate = candidate;
+        final FileTreeWalker.Entry root = walker.root();
+        if (parallelism == 1) {
+            return scanSerially(root, visitor);
+        }
+        offer(root);
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            if (root.traversable) {
+                pool.execute(() -> {
+                    try {
+                        new DirectoryTask(root).invoke();
+                    } catch (RuntimeException | Error e) {
+                        put(e);
+                    } finally {
+                        put(END);
+                    }
+                });
+            } else {
+                queue.add(END);
+            }
+            for (Object next = queue.take(); next != END; next = queue.take()) {
+                if (next instanceof RuntimeException) {
+                    throw (RuntimeException) next;
+                } else if (next instanceof Error) {
+                    throw (Error) next;
+                }
+                if (visit((FileTreeWalker.Entry) next, visitor)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while scanning " + walker.getBaseDir());
+        } finally {
+            stopped.set(true);
+            pool.shutdownNow();
+        }
+        walker.scanCompleted();
+        return false;
+    }
+
+    /**
+     * Walks the tree depth first on the calling thread.
+     */
+    private boolean scanSerially(FileTreeWalker.Entry root, Visitor visitor) throws IOException {
+        if (isCandidate(root) && visit(root, visitor)) {
+            return true;
+        }
+        final Deque<FileTreeWalker.Entry> directories = new ArrayDeque<>();
+        if (root.traversable) {
+            directories.push(root);
+        }
+        while (!directories.isEmpty()) {
+            final FileTreeWalker.Entry directory = directories.pop();
+            for (String name : walker.list(directory)) {
+                final FileTreeWalker.Entry entry = walker.child(directory, name);
+                if (entry == null) {
+                    continue;
+                }
+                if (isCandidate(entry) && visit(entry, visitor)) {
+                    return true;
+                }
+                if (entry.traversable) {
+                    directories.push(entry);
+                }
+            }
+        }
+        walker.scanCompleted();
+        return false;
+    }
+
+    /**
+     * Passes the entry to the visitor, if it is selected by the file selectors.
+     * @return True, if the visitor stopped the scan
+     */
+    private boolean visit(FileTreeWalker.Entry entry, Visitor visitor) throws IOException {
+        if (collection.getFileSelectors() != null
+                && !collection.isSelected(collection.createUntransformedResource(entry))) {
+            return false;
+        }
+        return visitor.visit(collection.getName(entry.name), entry.attributes.getLastModifiedTime().toMillis());
+    }
+
+    /**
+     * Returns, whether the entry is selected by the patterns, and matches the candidate filter.
+     */
+    private boolean isCandidate(FileTreeWalker.Entry entry) {
+        return entry.selected
+                && (!entry.directory || collection.isIncludingEmptyDirectories())
+                && candidate.test(entry);
+    }
+
+    /**
+     * Queues the entry, if it is a candidate.
+     */
+    private void offer(FileTreeWalker.Entry entry) {
+        if (isCandidate(entry)) {
+            put(entry);
+        }
+    }
+
+    /**
+     * Queues the element, waiting for room, unless the scan has been stopped.
+     */
+    private void put(Object element) {
+        try {
+            while (!stopped.get()) {
+                if (queue.offer(element, 100, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class DirectoryTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileTreeWalker.Entry directory;
+
+        DirectoryTask(FileTreeWalker.Entry directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute() {
+            if (stopped.get()) {
+                return;
+            }
+            final List<DirectoryTask> tasks = new ArrayList<>();
+            for (String name : walker.list(directory)) {
+                if (stopped.get()) {
+                    break;
+                }
+                final FileTreeWalker.Entry entry = walker.child(directory, name);
+                if (entry == null) {
+                    continue;
+                }
+                offer(entry);
+                if (entry.traversable) {
+                    final DirectoryTask task = new DirectoryTask(entry);
+                    task.fork();
+                    tasks.add(task);
+                }
+            }
+            for (DirectoryTask task : tasks) {
+                task.join();
+            }
+        }
+    }
+}
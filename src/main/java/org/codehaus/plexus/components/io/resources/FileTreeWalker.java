@@ -0,0 +1,230 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+import org.codehaus.plexus.components.io.attributes.AttributeDetail;
+import org.codehaus.plexus.components.io.attributes.FileAttributes;
+import org.codehaus.plexus.util.DirectoryScanner;
+
+/**
+ * Lists and classifies the entries of a directory tree with the same semantics as
+ * {@link DirectoryScanner#scan()}: Entries are visited in pre-order, directories which are
+ * symbolic links are not traversed unless links are followed, and entries which are neither
+ * files nor directories (for example dangling links) are skipped.
+ */
+class FileTreeWalker {
+    private static final String[] NO_NAMES = new String[0];
+
+    private final File baseDir;
+
+    private final ScanPatterns patterns;
+
+    private final boolean followingSymLinks;
+
+    private final Comparator<String> filenameComparator;
+
+    private ScanIndex scanIndex;
+
+    private AttributeDetail attributeDetail = AttributeDetail.FULL;
+
+    private Predicate<String> selectedByName;
+
+    private Predicate<String> couldHoldSelected;
+
+    FileTreeWalker(
+            File baseDir, ScanPatterns patterns, boolean followingSymLinks, Comparator<String> filenameComparator) {
+        if (baseDir == null) {
+            throw new IllegalStateException("No basedir set");
+        }
+        if (!baseDir.exists()) {
+            throw new IllegalStateException("basedir " + baseDir + " does not exist");
+        }
+        if (!baseDir.isDirectory()) {
+            throw new IllegalStateException("basedir " + baseDir + " is not a directory");
+        }
+        this.baseDir = baseDir;
+        this.patterns = patterns;
+        this.followingSymLinks = followingSymLinks;
+        this.filenameComparator = filenameComparator;
+    }
+
+    File getBaseDir() {
+        return baseDir;
+    }
+
+    /**
+     * Sets an index of directory listings, which have been recorded by a previous scan.
+     */
+    void setScanIndex(ScanIndex scanIndex) {
+        this.scanIndex = scanIndex;
+    }
+
+    /**
+     * Sets the attributes, which are read for each entry.
+     */
+    void setAttributeDetail(AttributeDetail attributeDetail) {
+        this.attributeDetail = attributeDetail;
+    }
+
+    /**
+     * Sets the filters, which apply the collections file selectors to the entries names, before
+     * their attributes are read. The filters are invoked by the thread, which calls
+     * {@link #child(Entry, String)}, so they must only be set on walkers, which are used by a single
+     * thread. A filter, which fails, throws an {@link java.io.UncheckedIOException}.
+     * @param selectedByName Whether the selectors, which only use the name, select the entry
+     * @param couldHoldSelected Whether the selectors could select an entry below the directory with
+     *   the given name, or null, if that isn't known
+     */
+    void setSelectorFilters(Predicate<String> selectedByName, Predicate<String> couldHoldSelected) {
+        this.selectedByName = selectedByName;
+        this.couldHoldSelected = couldHoldSelected;
+    }
+
+    /**
+     * Called after all traversable directories have been listed. Saves the scan index, if any.
+     */
+    void scanCompleted() {
+        if (scanIndex != null) {
+            scanIndex.save();
+        }
+    }
+
+    /**
+     * Returns the entry for the base directory, which has the empty name.
+     */
+    Entry root() throws IOException {
+        FileAttributes attributes = new FileAttributes(baseDir, followingSymLinks, attributeDetail);
+        boolean traversable = followingSymLinks || !Files.isSymbolicLink(baseDir.toPath());
+        return new Entry("", baseDir, attributes, true, patterns.matches(""), traversable);
+    }
+
+    /**
+     * Returns the names of the given directories children, sorted by the filename comparator, if any.
+     */
+    String[] list(Entry directory) {
+        FileTime lastModified = directory.attributes.getLastModifiedTime();
+        String[] names = scanIndex == null ? null : scanIndex.list(directory.name, lastModified);
+        if (names == null) {
+            names = directory.file.list();
+            if (names == null) {
+                return NO_NAMES;
+            }
+            if (scanIndex != null) {
+                scanIndex.record(directory.name, lastModified, names);
+            }
+        }
+        if (filenameComparator != null) {
+            Arrays.sort(names, filenameComparator);
+        }
+        return names;
+    }
+
+    /**
+     * Classifies the child with the given file name.
+     * @return The child, or null, if it is neither a file, nor a directory.
+     */
+    Entry child(Entry parent, String fileName) {
+        String name = parent.name.isEmpty() ? fileName : parent.name + File.separator + fileName;
+        boolean matched = patterns.matches(name);
+        boolean selected = matched && (selectedByName == null || selectedByName.test(name));
+        boolean couldHold = (matched || patterns.couldHoldSelected(name))
+                && (couldHoldSelected == null || couldHoldSelected.test(name));
+        if (!selected && !couldHold) {
+            // Neither the entry, nor its contents can be selected, whatever its type
+            return null;
+        }
+        File file = new File(parent.file, fileName);
+        FileAttributes attributes;
+        boolean directory;
+        try {
+            attributes = new FileAttributes(file, followingSymLinks, attributeDetail);
+            if (attributes.isSymbolicLink()) {
+                BasicFileAttributes target = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+                directory = target.isDirectory();
+                if (!directory && !target.isRegularFile()) {
+                    return null;
+                }
+            } else if (attributes.isDirectory()) {
+                directory = true;
+            } else if (attributes.isRegularFile()) {
+                directory = false;
+            } else {
+                return null;
+            }
+        } catch (IOException e) {
+            // Dangling links, or entries, which vanished since the directory was listed.
+            // The DirectoryScanner doesn't report those either.
+            return null;
+        }
+        boolean traversable = directory && couldHold && (followingSymLinks || !attributes.isSymbolicLink());
+        return new Entry(name, file, attributes, directory, selected, traversable);
+    }
+
+    /**
+     * A classified entry of the directory tree.
+     */
+    static final class Entry {
+        /**
+         * The name relative to the base directory, using platform separators.
+         */
+        final String name;
+
+        final File file;
+
+        /**
+         * The attributes, which have been read while classifying the entry,
+         * following symbolic links, if the walker does.
+         */
+        final FileAttributes attributes;
+
+        final boolean directory;
+
+        /**
+         * Whether the entry is included, and not excluded.
+         */
+        final boolean selected;
+
+        /**
+         * Whether the entries children must be visited.
+         */
+        final boolean traversable;
+
+        Entry(
+                String name,
+                File file,
+                FileAttributes attributes,
+                boolean directory,
+                boolean selected,
+                boolean traversable) {
+            this.name = name;
+            this.file = file;
+            this.attributes = attributes;
+            this.directory = directory;
+            this.selected = selected;
+            this.traversable = traversable;
+        }
+    }
+}
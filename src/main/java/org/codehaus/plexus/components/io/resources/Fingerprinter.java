@@ -0,0 +1,263 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.codehaus.plexus.components.io.attributes.PlexusIoResourceAttributes;
+import org.codehaus.plexus.components.io.functions.ResourceAttributeSupplier;
+import org.codehaus.plexus.components.io.functions.SymlinkDestinationSupplier;
+
+/**
+ * Computes a digest of a resource collection, which is suitable as a build cache key. The digest
+ * covers the mapped name, type, and mode of each resource, and either its size and modification
+ * time, or the hash of its contents.
+ * <p>
+ * The resources are hashed in parallel, and the per resource records are combined in the order of
+ * their names, so the fingerprint doesn't depend on the order, in which the collection returns its
+ * resources. Content hashes of files, which are read without a stream transformer, can be reused from
+ * a persistent {@link #setHashCacheFile(File) hash cache}, keyed by path, size and modification time.
+ *
+ * @since 3.8.0
+ */
+public class Fingerprinter {
+    /**
+     * The default digest algorithm.
+     */
+    public static final String DEFAULT_ALGORITHM = "SHA-256";
+
+    /**
+     * The parts of the resources, which are covered by the fingerprint.
+     */
+    public enum Level {
+        /**
+         * Names, types, modes, sizes, and modification times. No contents are read.
+         */
+        METADATA,
+
+        /**
+         * Names, types, modes, and the hashes of the contents.
+         */
+        CONTENTS
+    }
+
+    private Level level = Level.METADATA;
+
+    private String algorithm = DEFAULT_ALGORITHM;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private File hashCacheFile;
+
+    public Fingerprinter() {}
+
+    /**
+     * Returns the parts of the resources, which are covered by the fingerprint. Defaults to
+     * {@link Level#METADATA}.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Sets the parts of the resources, which are covered by the fingerprint.
+     */
+    public void setLevel(Level level) {
+        if (level == null) {
+            throw new IllegalArgumentException("The level must not be null");
+        }
+        this.level = level;
+    }
+
+    /**
+     * Returns the digest algorithm. Defaults to {@link #DEFAULT_ALGORITHM}.
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Sets the digest algorithm, which must be supported by {@link MessageDigest}.
+     */
+    public void setAlgorithm(String algorithm) {
+        try {
+            MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException | RuntimeException e) {
+            throw new IllegalArgumentException("Unsupported digest algorithm: " + algorithm, e);
+        }
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Returns the maximum number of resources, which are hashed concurrently. Defaults to the
+     * number of processors.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the maximum number of resources, which are hashed concurrently.
+     * @param parallelism The number of resources, at least 1.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, got " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the file, which stores the content hashes of the previous run, if any. Defaults to null.
+     */
+    public File getHashCacheFile() {
+        return hashCacheFile;
+    }
+
+    /**
+     * Sets the file, which stores the content hashes of files, so that the next run doesn't need to
+     * read files, which have neither changed size, nor modification time. The file is replaced after
+     * each run at the {@link Level#CONTENTS} level. A missing, or corrupt, file is ignored.
+     * @param hashCacheFile The cache file, or null to disable caching
+     */
+    public void setHashCacheFile(File hashCacheFile) {
+        this.hashCacheFile = hashCacheFile;
+    }
+
+    /**
+     * Computes the fingerprint of the given collection.
+     * @param collection The collection
+     * @return The digest as a lower case hexadecimal string
+     * @throws java.io.IOException Reading the collection failed
+     */
+    public String fingerprint(PlexusIoResourceCollection collection) throws IOException {
+        final HashCache hashCache =
+                level == Level.CONTENTS && hashCacheFile != null ? HashCache.load(hashCacheFile, algorithm) : null;
+        final List<Record> records = new ArrayList<>();
+        final ExecutorService executor = VirtualThreads.newExecutor(parallelism);
+        try {
+            final Stream stream = collection.stream();
+            stream.forEachOrdered(
+                    executor,
+                    parallelism,
+                    resource -> record(collection.getName(resource), resource, hashCache),
+                    (resource, record) -> records.add(record));
+        } finally {
+            executor.shutdown();
+        }
+        if (hashCache != null) {
+            hashCache.save();
+        }
+        // A stable sort, so that duplicate names are combined in the order of the collection
+        records.sort(Comparator.comparing(record -> record.name));
+        final MessageDigest digest = newDigest();
+        for (Record record : records) {
+            digest.update(record.bytes);
+        }
+        return toHex(digest.digest());
+    }
+
+    private Record record(String name, PlexusIoResource resource, HashCache hashCache) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream data = new DataOutputStream(bytes);
+        data.writeUTF(name);
+        data.writeByte(resource.isSymbolicLink() ? 'l' : resource.isDirectory() ? 'd' : resource.isFile() ? 'f' : '?');
+        final PlexusIoResourceAttributes attributes = resource instanceof ResourceAttributeSupplier
+                ? ((ResourceAttributeSupplier) resource).getAttributes()
+                : null;
+        data.writeInt(attributes == null ? PlexusIoResourceAttributes.UNKNOWN_OCTAL_MODE : attributes.getOctalMode());
+        if (resource.isSymbolicLink() && resource instanceof SymlinkDestinationSupplier) {
+            data.writeUTF(((SymlinkDestinationSupplier) resource).getSymlinkDestination());
+        }
+        if (level == Level.METADATA) {
+            data.writeLong(resource.getSize());
+            data.writeLong(resource.getLastModified());
+        } else if (resource.isFile()) {
+            final byte[] hash = contentHash(resource, hashCache);
+            data.writeShort(hash.length);
+            data.write(hash);
+        }
+        data.flush();
+        return new Record(name, bytes.toByteArray());
+    }
+
+    private byte[] contentHash(PlexusIoResource resource, HashCache hashCache) throws IOException {
+        final boolean cacheable = hashCache != null
+                && resource instanceof PlexusIoFileResource
+                && !resource.isSymbolicLink()
+                && ((PlexusIoFileResource) resource).hasFileContents();
+        final File file = cacheable ? ((PlexusIoFileResource) resource).getFile() : null;
+        final long size = resource.getSize();
+        final long lastModified = resource.getLastModified();
+        if (cacheable) {
+            final byte[] cached = hashCache.get(file, size, lastModified);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final MessageDigest digest = newDigest();
+        final byte[] buffer = new byte[8192];
+        try (InputStream in = resource.getContents()) {
+            for (int n; (n = in.read(buffer)) != -1; ) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        final byte[] hash = digest.digest();
+        if (cacheable) {
+            hashCache.put(file, size, lastModified, hash);
+        }
+        return hash;
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unsupported digest algorithm: " + algorithm, e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        final char[] digits = "0123456789abcdef".toCharArray();
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(digits[(b >> 4) & 0xf]).append(digits[b & 0xf]);
+        }
+        return sb.toString();
+    }
+
+    private static final class Record {
+        final String name;
+
+        final byte[] bytes;
+
+        Record(String name, byte[] bytes) {
+            this.name = name;
+            this.bytes = bytes;
+        }
+    }
+}
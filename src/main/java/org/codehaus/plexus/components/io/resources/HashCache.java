@@ -0,0 +1,159 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A persistent cache of content hashes, which allows a {@link Fingerprinter} to skip reading files,
+ * which haven't changed since the previous run.
+ * <p>
+ * For each file, the cache records its absolute path, size, modification time, and the hash of its
+ * contents. A hash is only reused, if the file still has the recorded size, and modification time.
+ * Files, which have been modified shortly before being hashed, are not recorded at all, so that
+ * changes within the file systems timestamp granularity aren't missed.
+ * <p>
+ * A cache file, which is missing, truncated, corrupt, or has been written for another algorithm, is
+ * ignored. The cache file is replaced with the files, which have been hashed by the current run.
+ */
+class HashCache {
+    private static final int MAGIC = 0x50494f48; // "PIOH"
+
+    private static final int VERSION = 1;
+
+    /**
+     * Files modified less than this many milliseconds before the run started aren't recorded.
+     */
+    private static final long RACY_MARGIN_MILLIS = 2000;
+
+    private final File cacheFile;
+
+    private final String algorithm;
+
+    private final long startMillis;
+
+    private final Map<String, Hash> previous;
+
+    private final Map<String, Hash> current = new ConcurrentHashMap<>();
+
+    private HashCache(File cacheFile, String algorithm, Map<String, Hash> previous) {
+        this.cacheFile = cacheFile;
+        this.algorithm = algorithm;
+        this.previous = previous;
+        this.startMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Loads the cache for the given algorithm. Any problem with the cache file results in an empty cache.
+     */
+    static HashCache load(File cacheFile, String algorithm) {
+        Map<String, Hash> hashes;
+        try {
+            hashes = read(cacheFile, algorithm);
+        } catch (IOException | RuntimeException e) {
+            hashes = null;
+        }
+        return new HashCache(cacheFile, algorithm, hashes == null ? Collections.emptyMap() : hashes);
+    }
+
+    /**
+     * Returns the recorded hash of the given file, if it is still valid, or null.
+     */
+    byte[] get(File file, long size, long lastModified) {
+        final String path = file.getAbsolutePath();
+        final Hash hash = previous.get(path);
+        if (hash == null || hash.size != size || hash.lastModified != lastModified) {
+            return null;
+        }
+        current.put(path, hash);
+        return hash.value.clone();
+    }
+
+    /**
+     * Records the hash, which has just been computed for the given file.
+     */
+    void put(File file, long size, long lastModified, byte[] value) {
+        if (lastModified + RACY_MARGIN_MILLIS > startMillis) {
+            return;
+        }
+        current.put(file.getAbsolutePath(), new Hash(size, lastModified, value.clone()));
+    }
+
+    /**
+     * Replaces the cache file with the files, which have been hashed by the current run.
+     * Failing to write the cache doesn't fail the run, it just makes the next run slower.
+     */
+    void save() {
+        try {
+            ChecksummedFiles.write(cacheFile, MAGIC, VERSION, this::write);
+        } catch (IOException ignore) {
+            // The cache is an optimization only
+        }
+    }
+
+    private static Map<String, Hash> read(File cacheFile, String algorithm) throws IOException {
+        return ChecksummedFiles.read(cacheFile, MAGIC, VERSION, data -> {
+            if (!algorithm.equals(data.readUTF())) {
+                return null;
+            }
+            int files = data.readInt();
+            Map<String, Hash> hashes = new HashMap<>(Math.max(16, files * 4 / 3 + 1));
+            for (int i = 0; i < files; i++) {
+                String file = data.readUTF();
+                long size = data.readLong();
+                long lastModified = data.readLong();
+                byte[] value = new byte[data.readUnsignedShort()];
+                data.readFully(value);
+                hashes.put(file, new Hash(size, lastModified, value));
+            }
+            return hashes;
+        });
+    }
+
+    private void write(DataOutputStream data) throws IOException {
+        data.writeUTF(algorithm);
+        data.writeInt(current.size());
+        for (Map.Entry<String, Hash> entry : current.entrySet()) {
+            Hash hash = entry.getValue();
+            data.writeUTF(entry.getKey());
+            data.writeLong(hash.size);
+            data.writeLong(hash.lastModified);
+            data.writeShort(hash.value.length);
+            data.write(hash.value);
+        }
+    }
+
+    private static final class Hash {
+        final long size;
+
+        final long lastModified;
+
+        final byte[] value;
+
+        Hash(long size, long lastModified, byte[] value) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the resources of a {@link PlexusIoFileResourceCollection}, which walks the
+ * directory tree while iterating. Resources are created one at a time, as soon as they are
+ * discovered, so the first resource is available without waiting for the whole scan, and
+ * resources, which have already been returned, are not retained.
+ * <p>
+ * Resources are returned in pre-order, that is, a directory is followed by its contents. The
+ * entries of each directory are ordered by the collections filename comparator, if any.
+ */
+class LazyFileResourceIterator implements Iterator<PlexusIoResource>, Closeable {
+    private final PlexusIoFileResourceCollection collection;
+
+    private final FileTreeWalker walker;
+
+    private final Deque<Frame> stack = new ArrayDeque<>();
+
+    private PlexusIoResource next;
+
+    private FileTreeWalker.Entry pendingRoot;
+
+    private boolean completed;
+
+    LazyFileResourceIterator(PlexusIoFileResourceCollection collection, FileTreeWalker walker) throws IOException {
+        this.collection = collection;
+        this.walker = walker;
+        this.pendingRoot = walker.root();
+    }
+
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = advance();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return next != null;
+    }
+
+    public PlexusIoResource next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PlexusIoResource result = next;
+        next = null;
+        return result;
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    public void close() {
+        // An incomplete scan must not replace the scan index
+        completed = true;
+        stack.clear();
+        pendingRoot = null;
+        next = null;
+    }
+
+    private PlexusIoResource advance() throws IOException {
+        if (pendingRoot != null) {
+            FileTreeWalker.Entry root = pendingRoot;
+            pendingRoot = null;
+            PlexusIoResource resource = visit(root);
+            if (resource != null) {
+                return resource;
+            }
+        }
+        for (Frame frame = stack.peek(); frame != null; frame = stack.peek()) {
+            if (frame.names == null) {
+                frame.names = walker.list(frame.directory);
+            }
+            if (frame.index >= frame.names.length) {
+                stack.pop();
+                continue;
+            }
+            FileTreeWalker.Entry entry;
+            try {
+                entry = walker.child(frame.directory, frame.names[frame.index++]);
+            } catch (UncheckedIOException e) {
+                // Thrown by the file selectors
+                throw e.getCause();
+            }
+            if (entry != null) {
+                PlexusIoResource resource = visit(entry);
+                if (resource != null) {
+                    return resource;
+                }
+            }
+        }
+        if (!completed) {
+            completed = true;
+            walker.scanCompleted();
+        }
+        return null;
+    }
+
+    /**
+     * Schedules the entries children, if any, and returns the entries resource, if it is selected.
+     */
+    private PlexusIoResource visit(FileTreeWalker.Entry entry) throws IOException {
+        if (entry.traversable) {
+            stack.push(new Frame(entry));
+        }
+        if (!entry.selected || (entry.directory && !collection.isIncludingEmptyDirectories())) {
+            return null;
+        }
+        PlexusIoResource resource = collection.createResource(entry);
+        return collection.isSelected(resource) ? resource : null;
+    }
+
+    private static final class Frame {
+        final FileTreeWalker.Entry directory;
+
+        String[] names;
+
+        int index;
+
+        Frame(FileTreeWalker.Entry directory) {
+            this.directory = directory;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Scans a directory tree on a work stealing {@link ForkJoinPool}, with one task per directory,
+ * so that listing and reading the attributes of sibling directories overlap.
+ * <p>
+ * The result doesn't depend on the scheduling: Like the {@link org.codehaus.plexus.util.DirectoryScanner},
+ * the scanner returns all directories in pre-order, followed by all files in pre-order, with the entries
+ * of each directory ordered by the filename comparator, if any.
+ */
+class ParallelFileTreeScanner {
+    private final PlexusIoFileResourceCollection collection;
+
+    private final FileTreeWalker walker;
+
+    private final int parallelism;
+
+    ParallelFileTreeScanner(PlexusIoFileResourceCollection collection, FileTreeWalker walker, int parallelism) {
+        this.collection = collection;
+        this.walker = walker;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Scans the tree, and returns the resources, which haven't yet been passed to the collections file selectors.
+     */
+    List<PlexusIoResource> scan() throws IOException {
+        FileTreeWalker.Entry root = walker.root();
+        Result result = new Result();
+        if (root.selected && collection.isIncludingEmptyDirectories()) {
+            result.directories.add(collection.createResource(root));
+        }
+        if (root.traversable) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                result.add(pool.invoke(new DirectoryTask(root)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                pool.shutdown();
+            }
+        }
+        walker.scanCompleted();
+        List<PlexusIoResource> resources = result.directories;
+        resources.addAll(result.files);
+        return resources;
+    }
+
+    private static final class Result {
+        final List<PlexusIoResource> directories = new ArrayList<>();
+
+        final List<PlexusIoResource> files = new ArrayList<>();
+
+        void add(Result other) {
+            directories.addAll(other.directories);
+            files.addAll(other.files);
+        }
+    }
+
+    private final class DirectoryTask extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileTreeWalker.Entry directory;
+
+        DirectoryTask(FileTreeWalker.Entry directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected Result compute() {
+            String[] names = walker.list(directory);
+            List<Slot> slots = new ArrayList<>(names.length);
+            try {
+                for (String name : names) {
+                    FileTreeWalker.Entry entry = walker.child(directory, name);
+                    if (entry == null) {
+                        continue;
+                    }
+                    DirectoryTask task = entry.traversable ? new DirectoryTask(entry) : null;
+                    if (task != null) {
+                        task.fork();
+                    }
+                    PlexusIoResource resource = null;
+                    if (entry.selected && (!entry.directory || collection.isIncludingEmptyDirectories())) {
+                        resource = collection.createResource(entry);
+                    }
+                    if (resource != null || task != null) {
+                        slots.add(new Slot(entry.directory, resource, task));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            Result result = new Result();
+            for (Slot slot : slots) {
+                if (!slot.directory) {
+                    result.files.add(slot.resource);
+                    continue;
+                }
+                if (slot.resource != null) {
+                    result.directories.add(slot.resource);
+                }
+                if (slot.task != null) {
+                    result.add(slot.task.join());
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The outcome of a directory entry: its resource, if selected, and the task scanning its contents, if any.
+     */
+    private static final class Slot {
+        final boolean directory;
+
+        final PlexusIoResource resource;
+
+        final DirectoryTask task;
+
+        Slot(boolean directory, PlexusIoResource resource, DirectoryTask task) {
+            this.directory = directory;
+            this.resource = resource;
+            this.task = task;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.codehaus.plexus.components.io.functions.PlexusIoResourceConsumer;
+import org.codehaus.plexus.components.io.functions.PlexusIoResourceFunction;
+import org.codehaus.plexus.components.io.functions.PlexusIoResultConsumer;
+
+/**
+ * Implements the parallel iteration of a {@link Stream}: The resources are produced by the
+ * streams sequential {@link Stream#forEach(PlexusIoResourceConsumer)} in the calling thread,
+ * and processed by tasks, which are submitted to an executor. The number of tasks, which are
+ * in flight, is bounded. After a failure, no more tasks are submitted, tasks, which haven't
+ * started yet, are cancelled, and the failure is thrown, once the running tasks are complete.
+ */
+final class ParallelForEach {
+    private ParallelForEach() {}
+
+    static void forEach(
+            Stream stream, Executor executor, int maxInFlight, final PlexusIoResourceConsumer resourceConsumer)
+            throws IOException {
+        checkMaxInFlight(maxInFlight);
+        final Semaphore permits = new Semaphore(maxInFlight);
+        final Set<Task<Void>> inFlight = ConcurrentHashMap.newKeySet();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final PlexusIoResourceFunction<Void> function = resource -> {
+            resourceConsumer.accept(resource);
+            return null;
+        };
+        try {
+            stream.forEach(resource -> {
+                acquire(permits);
+                if (failure.get() != null) {
+                    permits.release();
+                    throw new Aborted();
+                }
+                final Task<Void> task = new Task<Void>(resource, function) {
+                    @Override
+                    void completed() {
+                        if (getFailure() != null && failure.compareAndSet(null, getFailure())) {
+                            cancelAll(inFlight);
+                        }
+                        inFlight.remove(this);
+                        permits.release();
+                    }
+                };
+                inFlight.add(task);
+                submit(executor, task);
+            });
+        } catch (Aborted e) {
+            // The failure of a task is thrown below
+        } catch (IOException | RuntimeException | Error e) {
+            cancelAll(inFlight);
+            if (!(e instanceof InterruptedIOException)) {
+                permits.acquireUninterruptibly(maxInFlight);
+            }
+            throw e;
+        }
+        try {
+            permits.acquire(maxInFlight);
+        } catch (InterruptedException e) {
+            cancelAll(inFlight);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the consumers to complete");
+        }
+        rethrow(failure.get());
+    }
+
+    static <T> void forEachOrdered(
+            Stream stream,
+            Executor executor,
+            int maxInFlight,
+            PlexusIoResourceFunction<T> function,
+            PlexusIoResultConsumer<T> resultConsumer)
+            throws IOException {
+        checkMaxInFlight(maxInFlight);
+        // Accessed by the calling thread only
+        final Deque<Task<T>> window = new ArrayDeque<>();
+        try {
+            stream.forEach(resource -> {
+                if (window.size() >= maxInFlight) {
+                    consume(window.poll(), resultConsumer);
+                }
+                final Task<T> task = new Task<>(resource, function);
+                window.add(task);
+                submit(executor, task);
+                while (!window.isEmpty() && window.peek().isDone()) {
+                    consume(window.poll(), resultConsumer);
+                }
+            });
+            while (!window.isEmpty()) {
+                consume(window.poll(), resultConsumer);
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            cancelAll(window);
+            if (!(e instanceof InterruptedIOException)) {
+                for (Task<T> task : window) {
+                    task.awaitUninterruptibly();
+                }
+            }
+            throw e;
+        }
+    }
+
+    private static <T> void consume(Task<T> task, PlexusIoResultConsumer<T> resultConsumer) throws IOException {
+        try {
+            task.await();
+        } catch (InterruptedException e) {
+            task.cancel();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + task.resource.getName());
+        }
+        rethrow(task.getFailure());
+        resultConsumer.accept(task.resource, task.result);
+    }
+
+    private static void checkMaxInFlight(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Invalid number of tasks in flight: " + maxInFlight);
+        }
+    }
+
+    private static void acquire(Semaphore permits) throws InterruptedIOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a consumer");
+        }
+    }
+
+    private static void submit(Executor executor, Task<?> task) {
+        try {
+            executor.execute(task);
+        } catch (RuntimeException | Error e) {
+            task.cancel();
+            throw e;
+        }
+    }
+
+    private static void cancelAll(Collection<? extends Task<?>> tasks) {
+        // Copied, because cancelling a task may remove it from the collection
+        final List<Task<?>> copy = new ArrayList<>(tasks);
+        for (Task<?> task : copy) {
+            task.cancel();
+        }
+    }
+
+    private static void rethrow(Throwable failure) throws IOException {
+        if (failure == null) {
+            return;
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new IOException(failure);
+    }
+
+    /**
+     * Thrown into the streams sequential iteration, to stop it after a failure.
+     */
+    private static final class Aborted extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        Aborted() {
+            super(null, null);
+        }
+    }
+
+    /**
+     * Applies the function to a single resource, unless it is cancelled before it starts.
+     */
+    static class Task<T> implements Runnable {
+        private static final int NEW = 0, RUNNING = 1, DONE = 2;
+
+        final PlexusIoResource resource;
+
+        private final PlexusIoResourceFunction<T> function;
+
+        private final AtomicInteger state = new AtomicInteger(NEW);
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private T result;
+
+        private Throwable failure;
+
+        Task(PlexusIoResource resource, PlexusIoResourceFunction<T> function) {
+            this.resource = resource;
+            this.function = function;
+        }
+
+        public void run() {
+            if (!state.compareAndSet(NEW, RUNNING)) {
+                return;
+            }
+            try {
+                result = function.apply(resource);
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                state.set(DONE);
+                done.countDown();
+                completed();
+            }
+        }
+
+        void cancel() {
+            if (state.compareAndSet(NEW, DONE)) {
+                done.countDown();
+                completed();
+            }
+        }
+
+        boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        void await() throws InterruptedException {
+            done.await();
+        }
+
+        void awaitUninterruptibly() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Returns the failure of the function, or null, if it succeeded, or has been cancelled.
+         */
+        Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * Invoked, when the task is complete, or has been cancelled.
+         */
+        void completed() {}
+    }
+}
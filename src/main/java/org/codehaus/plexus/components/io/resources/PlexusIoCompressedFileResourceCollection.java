@@ -42,6 +42,10 @@
 
     private InputStreamTransformer streamTransformers = AbstractPlexusIoResourceCollection.identityTransformer;
 
+    private ContentBuffers contentBuffers = ContentBuffers.getDefault();
+
+    private TransformMode transformMode = TransformMode.EAGER;
+
     public File getFile() {
         return file;
     }
@@ -66,6 +70,40 @@ public void setStreamTransformer(InputStreamTransformer streamTransformers) {
         this.streamTransformers = streamTransformers;
     }
 
+    /**
+     * Sets the buffers, which hold the transformed contents of this collections resources.
+     * @param contentBuffers The buffers, or null to use {@link ContentBuffers#getDefault()}.
+     * @since 3.8.0
+     */
+    public void setContentBuffers(ContentBuffers contentBuffers) {
+        this.contentBuffers = contentBuffers == null ? ContentBuffers.getDefault() : contentBuffers;
+    }
+
+    /**
+     * Returns the buffers, which hold the transformed contents of this collections resources.
+     * @since 3.8.0
+     */
+    public ContentBuffers getContentBuffers() {
+        return contentBuffers;
+    }
+
+    /**
+     * Sets, when the contents of this collections resources are passed through the stream transformer.
+     * @param transformMode The transform mode, or null to use {@link TransformMode#EAGER}.
+     * @since 3.8.0
+     */
+    public void setTransformMode(TransformMode transformMode) {
+        this.transformMode = transformMode == null ? TransformMode.EAGER : transformMode;
+    }
+
+    /**
+     * Returns, when the contents of this collections resources are passed through the stream transformer.
+     * @since 3.8.0
+     */
+    public TransformMode getTransformMode() {
+        return transformMode;
+    }
+
     public Stream stream() {
         return new Stream() {
             public void forEach(PlexusIoResourceConsumer resourceConsumer) throws IOException {
@@ -125,7 +163,11 @@ public InputStream getInputStream(PlexusIoResource resource) throws IOException
 
     public PlexusIoResource resolve(final PlexusIoResource resource) throws IOException {
         final Deferred deferred = new Deferred(
-                resource, this, streamTransformers != AbstractPlexusIoResourceCollection.identityTransformer);
+                resource,
+                this,
+                streamTransformers != AbstractPlexusIoResourceCollection.identityTransformer,
+                contentBuffers,
+                transformMode);
         return deferred.asResource();
     }
 
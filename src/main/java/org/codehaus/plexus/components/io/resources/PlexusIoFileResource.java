@@ -18,20 +18,21 @@
 
 import javax.annotation.Nonnull;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.attribute.FileTime;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.codehaus.plexus.components.io.attributes.AttributeUtils;
 import org.codehaus.plexus.components.io.attributes.FileAttributes;
 import org.codehaus.plexus.components.io.attributes.PlexusIoResourceAttributes;
+import org.codehaus.plexus.components.io.functions.ChannelSupplier;
 import org.codehaus.plexus.components.io.functions.ContentSupplier;
 import org.codehaus.plexus.components.io.functions.FileSupplier;
 import org.codehaus.plexus.components.io.functions.InputStreamTransformer;
@@ -42,7 +43,23 @@
 /**
  * Implementation of {@link PlexusIoResource} for files.
  */
-public class PlexusIoFileResource extends AbstractPlexusIoResource implements ResourceAttributeSupplier, FileSupplier {
+public class PlexusIoFileResource extends AbstractPlexusIoResource
+        implements ResourceAttributeSupplier, FileSupplier, ChannelSupplier {
+
+    /**
+     * Whether a subclass overrides {@link #getContents()}, in which case the channels must be
+     * created from the overridden method.
+     */
+    private static final ClassValue<Boolean> CONTENTS_OVERRIDDEN = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("getContents").getDeclaringClass() != PlexusIoFileResource.class;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
 
     @Nonnull
     private final File file;
@@ -55,7 +72,14 @@ public class PlexusIoFileResource extends AbstractPlexusIoResource implements Re
 
     private final ContentSupplier contentSupplier;
 
-    private final DeferredFileOutputStream dfos;
+    /**
+     * Whether the contents are read from the file, so that the file may be used as a channel.
+     */
+    private final boolean fileContents;
+
+    private final boolean contentsOverridden;
+
+    private final TransformedContents transformedContents;
 
     protected PlexusIoFileResource(@Nonnull File file, @Nonnull String name, @Nonnull PlexusIoResourceAttributes attrs)
             throws IOException {
@@ -80,6 +104,27 @@ protected PlexusIoFileResource(@Nonnull File file, @Nonnull String name, @Nonnul
             final ContentSupplier contentSupplier,
             final InputStreamTransformer streamTransformer)
             throws IOException {
+        this(
+                file,
+                name,
+                attrs,
+                fileAttributes,
+                contentSupplier,
+                streamTransformer,
+                ContentBuffers.getDefault(),
+                TransformMode.EAGER);
+    }
+
+    PlexusIoFileResource(
+            @Nonnull final File file,
+            @Nonnull String name,
+            @Nonnull PlexusIoResourceAttributes attrs,
+            @Nonnull FileAttributes fileAttributes,
+            final ContentSupplier contentSupplier,
+            final InputStreamTransformer streamTransformer,
+            @Nonnull ContentBuffers contentBuffers,
+            @Nonnull TransformMode transformMode)
+            throws IOException {
         super(
                 name,
                 fileAttributes.getLastModifiedTime().toMillis(),
@@ -94,26 +139,26 @@ protected PlexusIoFileResource(@Nonnull File file, @Nonnull String name, @Nonnul
         this.attributes = requireNonNull(attrs, "attributes is null for file " + file.getName());
         this.fileAttributes = requireNonNull(fileAttributes, "fileAttributes is null for file " + file.getName());
         this.contentSupplier = contentSupplier != null ? contentSupplier : getRootContentSupplier(file);
+        this.contentsOverridden = CONTENTS_OVERRIDDEN.get(getClass());
+        this.fileContents = contentSupplier == null && !contentsOverridden;
 
         boolean hasTransformer = streamTransformer != null && streamTransformer != identityTransformer;
         InputStreamTransformer transToUse = streamTransformer != null ? streamTransformer : identityTransformer;
 
-        dfos = hasTransformer && file.isFile() ? asDeferredStream(this.contentSupplier, transToUse, this) : null;
+        transformedContents = hasTransformer && fileAttributes.isRegularFile()
+                ? new TransformedContents(
+                        transformed(this.contentSupplier, transToUse, this), contentBuffers, transformMode)
+                : null;
     }
 
-    private static DeferredFileOutputStream asDeferredStream(
-            @Nonnull ContentSupplier supplier, @Nonnull InputStreamTransformer transToUse, PlexusIoResource resource)
-            throws IOException {
-        DeferredFileOutputStream dfos = DeferredFileOutputStream.builder()
-                .setThreshold(5000000)
-                .setPrefix("p-archiver")
-                .get();
-        try (InputStream inputStream = supplier.getContents();
-                InputStream transformed = transToUse.transform(resource, inputStream);
-                DeferredFileOutputStream closeable = dfos) {
-            IOUtils.copy(transformed, dfos);
-        }
-        return dfos;
+    private static ContentSupplier transformed(
+            @Nonnull ContentSupplier supplier,
+            @Nonnull InputStreamTransformer transToUse,
+            PlexusIoResource resource) {
+        return () -> {
+            InputStream inputStream = supplier.getContents();
+            return new ClosingInputStream(transToUse.transform(resource, inputStream), inputStream);
+        };
     }
 
     private static ContentSupplier getRootContentSupplier(final File file) {
@@ -134,21 +179,54 @@ public File getFile() {
 
     @Nonnull
     public InputStream getContents() throws IOException {
-        if (dfos == null) {
+        if (transformedContents == null) {
             return contentSupplier.getContents();
         }
-        if (dfos.isInMemory()) {
-            return new ByteArrayInputStream(dfos.getData());
-        } else {
-            return new FileInputStream(dfos.getFile()) {
-                @SuppressWarnings("ResultOfMethodCallIgnored")
-                @Override
-                public void close() throws IOException {
-                    super.close();
-                    dfos.getFile().delete();
-                }
-            };
+        return transformedContents.getContents();
+    }
+
+    /**
+     * Opens a channel on the contents. The file is accessed directly, unless the contents are
+     * supplied otherwise, or transformed, or a subclass overrides {@link #getContents()}.
+     */
+    @Nonnull
+    public SeekableByteChannel getChannel() throws IOException {
+        if (contentsOverridden) {
+            return ResourceChannels.newStreamChannel(this);
         }
+        if (transformedContents != null) {
+            return transformedContents.getChannel();
+        }
+        if (fileContents) {
+            return ResourceChannels.open(file);
+        }
+        return ResourceChannels.newStreamChannel(this);
+    }
+
+    /**
+     * Writes the contents to the given channel. The file is transferred by the operating system,
+     * if possible, unless the contents are supplied otherwise, or transformed, or a subclass
+     * overrides {@link #getContents()}.
+     */
+    public long transferTo(@Nonnull WritableByteChannel target) throws IOException {
+        if (contentsOverridden) {
+            return ResourceChannels.copy(this, target);
+        }
+        if (transformedContents != null) {
+            return transformedContents.transferTo(target);
+        }
+        if (fileContents) {
+            return ResourceChannels.transferFile(file, target);
+        }
+        return ResourceChannels.copy(this, target);
+    }
+
+    /**
+     * Returns, whether the contents are the files bytes, as they are stored, so that a hash of the
+     * contents may be associated with the file.
+     */
+    boolean hasFileContents() {
+        return fileContents && transformedContents == null;
     }
 
     @Nonnull
@@ -157,14 +235,10 @@ public URL getURL() throws IOException {
     }
 
     public long getSize() {
-        if (dfos == null) {
+        if (transformedContents == null) {
             return fileAttributes.getSize();
         }
-        if (dfos.isInMemory()) {
-            return dfos.getByteCount();
-        } else {
-            return dfos.getFile().length();
-        }
+        return transformedContents.getSize();
     }
 
     public boolean isDirectory() {
@@ -205,8 +279,22 @@ public boolean isSymbolicLink() {
         return getAttributes().isSymbolicLink();
     }
 
+    /**
+     * Returns the transformed contents, or null, if the contents aren't transformed.
+     * @deprecated The transformed contents are buffered by {@link ContentBuffers}, and this
+     *   method returns a copy of them, which is created on the first call. Use {@link #getSize()},
+     *   and {@link #getContents()} instead.
+     */
+    @Deprecated
     protected DeferredFileOutputStream getDfos() {
-        return dfos;
+        if (transformedContents == null) {
+            return null;
+        }
+        try {
+            return transformedContents.getDeferredStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private static final InputStreamTransformer identityTransformer =
@@ -22,12 +22,14 @@
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Predicate;
 
 import org.codehaus.plexus.components.io.attributes.FileAttributes;
 import org.codehaus.plexus.components.io.attributes.PlexusIoResourceAttributes;
@@ -56,6 +58,21 @@ public class PlexusIoFileResourceCollection extends AbstractPlexusIoResourceColl
      */
     private Comparator<String> filenameComparator;
 
+    /**
+     * @since 3.8.0
+     */
+    private boolean lazyScanning;
+
+    /**
+     * @since 3.8.0
+     */
+    private int parallelism = 1;
+
+    /**
+     * @since 3.8.0
+     */
+    private File scanIndexFile;
+
     public PlexusIoFileResourceCollection() {}
 
     public PlexusIoResource resolve(final PlexusIoResource resource) throws IOException {
@@ -142,16 +159,14 @@ private void addResources(List<PlexusIoResource> result, String[] resources) thr
 
         final File dir = getBaseDir();
         for (String name : resources) {
+            if (!isSelectedByName(getName(name))) {
+                continue;
+            }
             String sourceDir = name.replace('\\', '/');
             File f = new File(dir, sourceDir);
 
-            FileAttributes fattrs = new FileAttributes(f, isFollowingSymLinks());
-            PlexusIoResourceAttributes attrs = mergeAttributes(fattrs, fattrs.isDirectory());
-
-            String remappedName = getName(name);
-
-            PlexusIoResource resource =
-                    ResourceFactory.createResource(f, remappedName, null, getStreamTransformer(), attrs);
+            FileAttributes fattrs = new FileAttributes(f, isFollowingSymLinks(), getAttributeDetail());
+            PlexusIoResource resource = createResource(f, name, fattrs);
 
             if (isSelected(resource)) {
                 result.add(resource);
@@ -159,57 +174,70 @@ private void addResources(List<PlexusIoResource> result, String[] resources) thr
         }
     }
 
+    PlexusIoResource createResource(FileTreeWalker.Entry entry) throws IOException {
+        return createResource(entry.file, entry.name, entry.attributes);
+    }
+
+    private PlexusIoResource createResource(File f, String name, FileAttributes fattrs) throws IOException {
+        PlexusIoResourceAttributes attrs = mergeAttributes(fattrs, fattrs.isDirectory());
+
+        String remappedName = getName(name);
+
+        return ResourceFactory.createResource(
+                f,
+                remappedName,
+                null,
+                getStreamTransformer(),
+                attrs,
+                fattrs,
+                getContentBuffers(),
+                getTransformMode());
+    }
+
+    /**
+     * Creates a resource, which only serves to invoke the file selectors on, without a stream transformer.
+     */
+    PlexusIoResource createUntransformedResource(FileTreeWalker.Entry entry) throws IOException {
+        final PlexusIoResourceAttributes attrs = mergeAttributes(entry.attributes, entry.directory);
+        return ResourceFactory.createResource(entry.file, getName(entry.name), null, null, attrs, entry.attributes);
+    }
+
     public Stream stream() {
         return new Stream() {
             public void forEach(PlexusIoResourceConsumer resourceConsumer) throws IOException {
                 Iterator<PlexusIoResource> resources = getResources();
-                while (resources.hasNext()) {
-                    PlexusIoResource next = resources.next();
-                    if (isSelected(next)) {
-                        resourceConsumer.accept(next);
-                    }
-                }
-                if (resources instanceof Closeable) {
-                    ((Closeable) resources).close();
-                }
-            }
-
-            public void forEach(ExecutorService es, final PlexusIoResourceConsumer resourceConsumer)
-                    throws IOException {
-                Iterator<PlexusIoResource> resources = getResources();
-                while (resources.hasNext()) {
-                    final PlexusIoResource next = resources.next();
-                    Callable future = new Callable() {
-                        public Object call() throws Exception {
+                try {
+                    while (resources.hasNext()) {
+                        PlexusIoResource next = resources.next();
+                        if (isSelected(next)) {
                             resourceConsumer.accept(next);
-                            return this;
                         }
-                    };
-                    es.submit(future);
-                }
-                if (resources instanceof Closeable) {
-                    ((Closeable) resources).close();
+                    }
+                } finally {
+                    // Releases the pending directories of a lazy scan, even if the consumer fails
+                    if (resources instanceof Closeable) {
+                        ((Closeable) resources).close();
+                    }
                 }
             }
         };
     }
 
     public Iterator<PlexusIoResource> getResources() throws IOException {
-        final DirectoryScanner ds = new DirectoryScanner();
-        final File dir = getBaseDir();
-        ds.setBasedir(dir);
-        final String[] inc = getIncludes();
-        if (inc != null && inc.length > 0) {
-            ds.setIncludes(inc);
-        }
-        final String[] exc = getExcludes();
-        if (exc != null && exc.length > 0) {
-            ds.setExcludes(exc);
+        if (isLazyScanning()) {
+            return new LazyFileResourceIterator(this, newSerialWalker());
         }
-        if (isUsingDefaultExcludes()) {
-            ds.addDefaultExcludes();
+        if (getParallelism() > 1 || getScanIndexFile() != null) {
+            final List<PlexusIoResource> result = new ArrayList<>();
+            for (PlexusIoResource resource : new ParallelFileTreeScanner(this, newWalker(), getParallelism()).scan()) {
+                if (isSelected(resource)) {
+                    result.add(resource);
+                }
+            }
+            return result.iterator();
         }
-        ds.setCaseSensitive(isCaseSensitive());
+        final DirectoryScanner ds = newPatterns();
+        ds.setBasedir(getBaseDir());
         ds.setFollowSymlinks(isFollowingSymLinks());
         ds.setFilenameComparator(filenameComparator);
         ds.scan();
@@ -225,6 +253,112 @@ public Iterator<PlexusIoResource> getResources() throws IOException {
         return result.iterator();
     }
 
+    /**
+     * Returns a spliterator, which walks the directory tree while advancing, and splits along
+     * directory boundaries, so that {@link #parallelStream()} processes whole subtrees in parallel.
+     * The resources are encountered in the same order as in {@link #setLazyScanning(boolean) lazy}
+     * mode, regardless of the collections scanning mode.
+     * @since 3.8.0
+     */
+    @Override
+    public Spliterator<PlexusIoResource> spliterator() {
+        try {
+            return new FileTreeSpliterator(this, newWalker());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the maximum modification time of the resources, using only the attributes, which
+     * are read while scanning. Neither contents are opened, nor stream transformers applied. The
+     * scan stops at the first resource with an unknown modification time.
+     */
+    @Override
+    public long getLastModified() throws IOException {
+        final long[] lastModified = {PlexusIoResource.UNKNOWN_MODIFICATION_DATE};
+        final boolean unknown = newStatScanner().scan(entry -> true, (name, modified) -> {
+            if (modified == PlexusIoResource.UNKNOWN_MODIFICATION_DATE) {
+                return true;
+            }
+            lastModified[0] = Math.max(lastModified[0], modified);
+            return false;
+        });
+        return unknown ? PlexusIoResource.UNKNOWN_MODIFICATION_DATE : lastModified[0];
+    }
+
+    /**
+     * Checks the modification times, using only the attributes, which are read while scanning.
+     * The directories are scanned with the configured {@link #setParallelism(int) parallelism},
+     * and the scan stops at the first modified file. Files with an unknown modification time are
+     * considered modified.
+     * @since 3.8.0
+     */
+    @Override
+    public boolean isModifiedAfter(long timestamp) throws IOException {
+        final Predicate<FileTreeWalker.Entry> stale = entry -> {
+            final long modified = entry.attributes.getLastModifiedTime().toMillis();
+            return modified == PlexusIoResource.UNKNOWN_MODIFICATION_DATE || modified > timestamp;
+        };
+        return newStatScanner().scan(stale, (name, modified) -> true);
+    }
+
+    /**
+     * Checks the resource names, using only the attributes, which are read while scanning. The
+     * directories are scanned with the configured {@link #setParallelism(int) parallelism}, and
+     * the scan stops at the first unexpected name.
+     * @since 3.8.0
+     */
+    @Override
+    public boolean isEntrySetChanged(Set<String> names) throws IOException {
+        final int[] count = {0};
+        final boolean unexpected = newStatScanner().scan(entry -> true, (name, modified) -> {
+            count[0]++;
+            return !names.contains(name);
+        });
+        return unexpected || count[0] != names.size();
+    }
+
+    private FileTreeStatScanner newStatScanner() {
+        return new FileTreeStatScanner(this, newWalker(), getParallelism());
+    }
+
+    private ScanPatterns newPatterns() {
+        return new ScanPatterns(getIncludes(), getExcludes(), isUsingDefaultExcludes(), isCaseSensitive());
+    }
+
+    private FileTreeWalker newWalker() {
+        FileTreeWalker walker =
+                new FileTreeWalker(getBaseDir(), newPatterns(), isFollowingSymLinks(), filenameComparator);
+        if (getScanIndexFile() != null) {
+            walker.setScanIndex(ScanIndex.load(getScanIndexFile(), getBaseDir()));
+        }
+        walker.setAttributeDetail(getAttributeDetail());
+        return walker;
+    }
+
+    /**
+     * Returns a walker, which applies the file selectors to the entries names before reading their
+     * attributes. The selectors are invoked by the walking thread, so the walker must only be used
+     * by the calling thread.
+     */
+    private FileTreeWalker newSerialWalker() {
+        final FileTreeWalker walker = newWalker();
+        if (getFileSelectors() != null) {
+            // The selectors see the mapped names, which only reflect the directory structure without mappers
+            walker.setSelectorFilters(
+                    name -> {
+                        try {
+                            return isSelectedByName(getName(name));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    },
+                    getFileMappers() == null ? name -> couldHoldSelected(getName(name)) : null);
+        }
+        return walker;
+    }
+
     public boolean isConcurrentAccessSupported() {
         return true;
     }
@@ -235,4 +369,77 @@ public boolean isConcurrentAccessSupported() {
     public void setFilenameComparator(Comparator<String> filenameComparator) {
         this.filenameComparator = filenameComparator;
     }
+
+    /**
+     * Returns, whether the directory tree is walked while iterating over the
+     * resources. Defaults to false.
+     * @since 3.8.0
+     */
+    public boolean isLazyScanning() {
+        return lazyScanning;
+    }
+
+    /**
+     * Sets, whether the directory tree is walked while iterating over the resources,
+     * rather than scanned completely by {@link #getResources()}. A lazy scan returns
+     * each resource as soon as it is discovered, and doesn't retain the resources,
+     * which have already been returned. Includes, excludes, default excludes, empty
+     * directories and the filename comparator are honoured as usual, but the resources
+     * are returned in pre-order: Each directory is immediately followed by its contents,
+     * rather than all directories being returned before the files.
+     * @since 3.8.0
+     */
+    public void setLazyScanning(boolean lazyScanning) {
+        this.lazyScanning = lazyScanning;
+    }
+
+    /**
+     * Returns the number of threads, which are used for scanning the directory tree.
+     * Defaults to 1.
+     * @since 3.8.0
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads, which are used for scanning the directory tree. With a
+     * parallelism greater than 1, {@link #getResources()} scans each directory in a separate
+     * fork/join task, so that listing and reading the attributes of sibling directories overlap.
+     * The resources are returned in the same order as by a sequential scan. The file mappers and
+     * the stream transformer are invoked concurrently, while the file selectors are always
+     * invoked by the calling thread. Lazy scanning, if enabled, takes precedence.
+     * @param parallelism The number of threads, at least 1.
+     * @since 3.8.0
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, got " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the file, which stores the directory listings of the previous scan, if any.
+     * Defaults to null.
+     * @since 3.8.0
+     */
+    public File getScanIndexFile() {
+        return scanIndexFile;
+    }
+
+    /**
+     * Sets a file, which stores the directory listings of the previous scan. If set, a
+     * directory, which hasn't been modified since the previous scan, isn't listed again;
+     * its recorded entries are used instead. The entries attributes are still read, so
+     * modified files are always detected. The index file is replaced after each complete
+     * scan; if it is missing, corrupt, or has been written for another base directory,
+     * it is ignored. Indexed scans return the resources in the same order as sequential
+     * scans, unless lazy scanning is enabled.
+     * @param scanIndexFile The index file, or null to disable the index.
+     * @since 3.8.0
+     */
+    public void setScanIndexFile(File scanIndexFile) {
+        this.scanIndexFile = scanIndexFile;
+    }
 }
@@ -16,9 +16,12 @@
  * limitations under the License.
  */
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.StreamSupport;
 
 /**
  * A resource collection is a set of {@link PlexusIoResource} instances.
@@ -31,12 +34,58 @@ public interface PlexusIoResourceCollection extends Iterable<PlexusIoResource> {
      */
     Iterator<PlexusIoResource> getResources() throws IOException;
 
+    /**
+     * Returns an iterator over the resources in the collection, which reads ahead the contents of
+     * the next resources in the background, while the consumer handles the current one. The
+     * resources are returned in the same order as by {@link #getResources()}. For each of up to
+     * {@code maxPrefetched} resources ahead of the consumer, the first {@code readAhead} bytes are
+     * kept in memory, until the resources contents are opened, or the consumer moves on to the next
+     * resource. Prefetched resources are proxies, which implement the same supplier interfaces, like
+     * {@link org.codehaus.plexus.components.io.functions.FileSupplier}, and
+     * {@link org.codehaus.plexus.components.io.functions.ChannelSupplier}, as the collections
+     * resources, but aren't instances of their classes.
+     * <p>Collections, which don't support concurrent access, return {@link #getResources()}. The
+     * iterator may thus be closed like this:
+     * <pre>
+     * if (resources instanceof Closeable) {
+     *     ((Closeable) resources).close();
+     * }
+     * </pre>
+     * @param maxPrefetched The maximum number of resources, which are prefetched ahead of the consumer
+     * @param readAhead The number of bytes, which are prefetched per resource
+     * @param maxOpenFiles The maximum number of resources, which are open for prefetching at the same time
+     * @return An iterator, which must be closed, if it isn't exhausted, and if it implements
+     *   {@link java.io.Closeable}
+     * @throws java.io.IOException .
+     * @since 3.8.0
+     */
+    default Iterator<PlexusIoResource> getPrefetchingResources(int maxPrefetched, int readAhead, int maxOpenFiles)
+            throws IOException {
+        if (!isConcurrentAccessSupported()) {
+            return getResources();
+        }
+        return new PrefetchingIterator(getResources(), maxPrefetched, readAhead, maxOpenFiles);
+    }
+
     /**
      * Returns the resources as a stream.
      * @return A stream for functional iteration
      */
     Stream stream();
 
+    /**
+     * Returns the resources as a parallel {@link java.util.stream.Stream}, which is split by the
+     * collections {@link #spliterator()}. Collections, which can't be split better than by batching
+     * their iterator, should still override {@link #spliterator()} where possible.
+     * <p>The stream is sequential, if the collection doesn't support concurrent access. Otherwise,
+     * its resources may be created, and the file selectors may be invoked, by multiple threads.
+     * @return A possibly parallel stream
+     * @since 3.8.0
+     */
+    default java.util.stream.Stream<PlexusIoResource> parallelStream() {
+        return StreamSupport.stream(spliterator(), isConcurrentAccessSupported());
+    }
+
     /**
      * Returns the resources suggested name. This is used for
      * integrating file mappers.
@@ -59,6 +108,78 @@ public interface PlexusIoResourceCollection extends Iterable<PlexusIoResource> {
      */
     long getLastModified() throws IOException;
 
+    /**
+     * Returns, whether any resource in the collection has been modified after the given time, for
+     * example to check, whether an archive, which has been created from the collection, is stale.
+     * Unlike {@link #getLastModified()}, this stops at the first resource, which has been modified.
+     * Resources with an unknown modification time are considered modified.
+     * <p>The default implementation iterates over the resources without opening their contents.
+     * Collections should override it, if they can avoid creating the resources.
+     * @param timestamp The time in milliseconds
+     * @return True, if a resource has been modified after the given time
+     * @throws java.io.IOException .
+     * @since 3.8.0
+     */
+    default boolean isModifiedAfter(long timestamp) throws IOException {
+        final Iterator<PlexusIoResource> it = getResources();
+        try {
+            while (it.hasNext()) {
+                final long lastModified = it.next().getLastModified();
+                if (lastModified == PlexusIoResource.UNKNOWN_MODIFICATION_DATE || lastModified > timestamp) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            if (it instanceof Closeable) {
+                ((Closeable) it).close();
+            }
+        }
+    }
+
+    /**
+     * Returns, whether the set of resource names differs from the given one, for example to check,
+     * whether resources have been added to, or removed from, the collection since an archive was
+     * created. This stops at the first resource, which isn't in the given set.
+     * <p>The default implementation iterates over the resources without opening their contents.
+     * Collections should override it, if they can avoid creating the resources.
+     * @param names The expected resource names, as returned by {@link PlexusIoResource#getName()}
+     * @return True, if the collection has a resource, which isn't in the given set, or lacks one
+     * @throws java.io.IOException .
+     * @since 3.8.0
+     */
+    default boolean isEntrySetChanged(Set<String> names) throws IOException {
+        final Iterator<PlexusIoResource> it = getResources();
+        try {
+            int count = 0;
+            while (it.hasNext()) {
+                if (!names.contains(it.next().getName())) {
+                    return true;
+                }
+                count++;
+            }
+            return count != names.size();
+        } finally {
+            if (it instanceof Closeable) {
+                ((Closeable) it).close();
+            }
+        }
+    }
+
+    /**
+     * Returns a digest of the resources, which is suitable as a build cache key. Use a
+     * {@link Fingerprinter} to configure the parallelism, or a persistent hash cache.
+     * @param level The parts of the resources, which are covered by the fingerprint
+     * @return The digest as a lower case hexadecimal string
+     * @throws java.io.IOException .
+     * @since 3.8.0
+     */
+    default String getFingerprint(Fingerprinter.Level level) throws IOException {
+        final Fingerprinter fingerprinter = new Fingerprinter();
+        fingerprinter.setLevel(level);
+        return fingerprinter.fingerprint(this);
+    }
+
     /**
      * Returns an input stream for the provided resource, with stream transformers applied
      * @param resource The resources
@@ -6,7 +6,7 @@
 import java.io.IOException;
 import java.nio.file.Path;
 
-import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.codehaus.plexus.components.io.attributes.FileAttributes;
 import org.codehaus.plexus.components.io.attributes.PlexusIoResourceAttributes;
 import org.codehaus.plexus.components.io.functions.SymlinkDestinationSupplier;
 
@@ -28,8 +28,7 @@ public class PlexusIoSymlinkResource extends PlexusIoFileResource implements Sym
     private PlexusIoSymlinkResource(
             @Nonnull File symlinkfile, String name, @Nonnull PlexusIoResourceAttributes attrs, Path path, Path linkPath)
             throws IOException {
-        this(symlinkfile, name, attrs, linkPath.toString(), (PlexusIoFileResource)
-                ResourceFactory.createResource(path.resolveSibling(linkPath).toFile()));
+        this(symlinkfile, name, attrs, linkPath.toString(), createTarget(path.resolveSibling(linkPath).toFile()));
     }
 
     private PlexusIoSymlinkResource(
@@ -44,6 +43,12 @@ private PlexusIoSymlinkResource(
         this.targetResource = targetResource;
     }
 
+    private static PlexusIoFileResource createTarget(File target) throws IOException {
+        FileAttributes attributes = new FileAttributes(target);
+        return (PlexusIoFileResource) ResourceFactory.createResource(
+                target, getName(target), null, null, attributes, attributes.isSymbolicLink() ? null : attributes);
+    }
+
     public String getSymlinkDestination() throws IOException {
         return symLinkDestination;
     }
@@ -58,14 +63,7 @@ public PlexusIoResource getLink() throws IOException {
 
     @Override
     public long getSize() {
-        DeferredFileOutputStream dfos = getDfos();
-        if (dfos == null) {
-            return targetResource.getSize();
-        } else if (dfos.isInMemory()) {
-            return dfos.getByteCount();
-        } else {
-            return dfos.getFile().length();
-        }
+        return targetResource.getSize();
     }
 
     @Override
@@ -0,0 +1,319 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import javax.annotation.Nonnull;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.plexus.components.io.functions.ChannelSupplier;
+import org.codehaus.plexus.components.io.functions.ContentSupplier;
+import org.codehaus.plexus.components.io.resources.proxy.ProxyFactory;
+
+/**
+ * An iterator, which reads ahead the contents of the next resources in the background, while the
+ * consumer handles the current one. This keeps multiple reads in flight, even if the consumer
+ * reads the resources one at a time.
+ * <p>
+ * Up to {@code maxPrefetched} resources are prefetched ahead of the consumer. For each of them, the
+ * first {@code readAhead} bytes are read into memory, which contains the whole contents of small
+ * files. The prefetched bytes are released, when the contents are opened, or when the consumer
+ * moves on to the next resource, so that a resource, whose contents are opened later, if at all,
+ * is read from the start. The memory used is thus limited to about {@code (maxPrefetched + 1) *
+ * readAhead} bytes, and at most {@code maxOpenFiles} resources are open for prefetching at the same
+ * time. Resources are returned in the order of the underlying iterator.
+ * <p>
+ * Prefetched resources are returned as proxies, which implement the same supplier interfaces, like
+ * {@link org.codehaus.plexus.components.io.functions.FileSupplier}, as the resource, and open
+ * channels on the resource itself. Resources, which aren't prefetched, are returned as they are.
+ */
+class PrefetchingIterator implements Iterator<PlexusIoResource>, Closeable {
+    private final Iterator<PlexusIoResource> resources;
+
+    private final int maxPrefetched;
+
+    private final int readAhead;
+
+    private final int maxOpenFiles;
+
+    private final Deque<Prefetch> window = new ArrayDeque<>();
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * The prefetch of the resource, which has been returned last, if any.
+     */
+    private Prefetch current;
+
+    private ExecutorService executor;
+
+    PrefetchingIterator(Iterator<PlexusIoResource> resources, int maxPrefetched, int readAhead, int maxOpenFiles) {
+        if (maxPrefetched < 1) {
+            throw new IllegalArgumentException("Invalid number of prefetched resources: " + maxPrefetched);
+        }
+        if (readAhead < 1) {
+            throw new IllegalArgumentException("Invalid read ahead size: " + readAhead);
+        }
+        if (maxOpenFiles < 1) {
+            throw new IllegalArgumentException("Invalid number of open files: " + maxOpenFiles);
+        }
+        this.resources = resources;
+        this.maxPrefetched = maxPrefetched;
+        this.readAhead = readAhead;
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    public boolean hasNext() {
+        fill();
+        if (window.isEmpty()) {
+            shutdown();
+            return false;
+        }
+        return true;
+    }
+
+    public PlexusIoResource next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (current != null) {
+            current.release();
+        }
+        current = window.poll();
+        fill();
+        return current.resource();
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    public void close() throws IOException {
+        for (Prefetch prefetch : window) {
+            prefetch.release();
+        }
+        window.clear();
+        if (current != null) {
+            current.release();
+            current = null;
+        }
+        shutdown();
+        if (resources instanceof Closeable) {
+            ((Closeable) resources).close();
+        }
+    }
+
+    /**
+     * Fetches resources from the underlying iterator, until the window is full, and starts
+     * prefetching in window order, while open files are available.
+     */
+    private void fill() {
+        while (window.size() < maxPrefetched && resources.hasNext()) {
+            window.add(new Prefetch(resources.next()));
+        }
+        for (Prefetch prefetch : window) {
+            if (running.get() >= maxOpenFiles) {
+                break;
+            }
+            if (!prefetch.started && prefetch.resource.isFile()) {
+                prefetch.started = true;
+                running.incrementAndGet();
+                if (executor == null) {
+                    executor = VirtualThreads.newExecutor(maxOpenFiles);
+                }
+                final FutureTask<Head> task = prefetch.task;
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        // A cancelled task may still be reading, so it is counted, until it returns
+                        running.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * The first bytes of a resources contents.
+     */
+    private static final class Head {
+        final byte[] bytes;
+
+        final int length;
+
+        /**
+         * Whether the bytes are the complete contents.
+         */
+        final boolean complete;
+
+        Head(byte[] bytes, int length, boolean complete) {
+            this.bytes = bytes;
+            this.length = length;
+            this.complete = complete;
+        }
+    }
+
+    /**
+     * Supplies the contents of a resource, which has been prefetched. Channels are opened on the
+     * resource itself, so that files are still transferred by the operating system.
+     */
+    private final class Prefetch implements ContentSupplier, ChannelSupplier {
+        final PlexusIoResource resource;
+
+        /**
+         * The prefetching task, until the prefetched bytes have been taken.
+         */
+        FutureTask<Head> task;
+
+        boolean started;
+
+        Prefetch(PlexusIoResource resource) {
+            this.resource = resource;
+            this.task = new FutureTask<>(this::read);
+        }
+
+        PlexusIoResource resource() {
+            if (!started) {
+                return resource;
+            }
+            return ProxyFactory.createProxy(resource, this);
+        }
+
+        private Head read() throws IOException {
+            // One more byte than required detects, whether the contents are complete
+            final byte[] bytes = new byte[readAhead + 1];
+            int length = 0;
+            try (InputStream in = resource.getContents()) {
+                for (int n; length < bytes.length && (n = in.read(bytes, length, bytes.length - length)) != -1; ) {
+                    length += n;
+                }
+            }
+            return length > readAhead ? new Head(bytes, readAhead, false) : new Head(bytes, length, true);
+        }
+
+        @Nonnull
+        public InputStream getContents() throws IOException {
+            final Head head = take();
+            if (head == null) {
+                return resource.getContents();
+            }
+            final InputStream prefetched = new ByteArrayInputStream(head.bytes, 0, head.length);
+            if (head.complete) {
+                return prefetched;
+            }
+            final InputStream in = resource.getContents();
+            try {
+                skipFully(in, head.length);
+            } catch (IOException | RuntimeException | Error e) {
+                in.close();
+                throw e;
+            }
+            return new SequenceInputStream(prefetched, in);
+        }
+
+        @Nonnull
+        public SeekableByteChannel getChannel() throws IOException {
+            release();
+            return ResourceChannels.getChannel(resource);
+        }
+
+        public long transferTo(@Nonnull WritableByteChannel target) throws IOException {
+            final Head head = take();
+            if (head == null || !head.complete) {
+                return ResourceChannels.transferTo(resource, target);
+            }
+            final ByteBuffer buffer = ByteBuffer.wrap(head.bytes, 0, head.length);
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            return head.length;
+        }
+
+        /**
+         * Drops the prefetched bytes, if they haven't been taken, so that the contents are read
+         * from the resource, if they are opened later.
+         */
+        synchronized void release() {
+            if (task != null) {
+                task.cancel(false);
+                task = null;
+            }
+        }
+
+        /**
+         * Returns the prefetched bytes, waiting for them, if prefetching is in progress, or null,
+         * if the contents must be read from the resource.
+         */
+        private synchronized Head take() throws InterruptedIOException {
+            final FutureTask<Head> prefetching = task;
+            // The contents are read from the resource, when they are opened again
+            task = null;
+            if (prefetching == null || prefetching.cancel(false)) {
+                return null;
+            }
+            try {
+                return prefetching.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for prefetched contents");
+            } catch (ExecutionException | CancellationException e) {
+                // Report the failure, if any, by reading the resource again
+                return null;
+            }
+        }
+    }
+
+    private static void skipFully(InputStream in, long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            final long skipped = in.skip(remaining);
+            if (skipped > 0) {
+                remaining -= skipped;
+            } else if (in.read() == -1) {
+                throw new EOFException("The contents have been truncated since prefetching");
+            } else {
+                remaining--;
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import javax.annotation.Nonnull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.codehaus.plexus.components.io.functions.ChannelSupplier;
+import org.codehaus.plexus.components.io.functions.ContentSupplier;
+import org.codehaus.plexus.components.io.functions.SizeSupplier;
+
+/**
+ * Utility methods for accessing the contents of resources through channels. Resources, which
+ * implement {@link ChannelSupplier}, are asked for their channels. The contents of other resources
+ * are copied from {@link PlexusIoResource#getContents()}.
+ * @since 3.8.0
+ */
+public final class ResourceChannels {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ResourceChannels() {}
+
+    /**
+     * Opens a read only channel with the contents of the given resource.
+     */
+    @Nonnull
+    public static SeekableByteChannel getChannel(@Nonnull PlexusIoResource resource) throws IOException {
+        if (resource instanceof ChannelSupplier) {
+            return ((ChannelSupplier) resource).getChannel();
+        }
+        return newStreamChannel(resource);
+    }
+
+    /**
+     * Writes the contents of the given resource to the given channel, which is not closed.
+     * @return The number of bytes, which have been written.
+     */
+    public static long transferTo(@Nonnull PlexusIoResource resource, @Nonnull WritableByteChannel target)
+            throws IOException {
+        if (resource instanceof ChannelSupplier) {
+            return ((ChannelSupplier) resource).transferTo(target);
+        }
+        return copy(resource, target);
+    }
+
+    /**
+     * Opens a read only channel, which reads the contents of the given resource from
+     * {@link PlexusIoResource#getContents()}. Moving the channels position backwards
+     * reopens the stream.
+     */
+    @Nonnull
+    public static SeekableByteChannel newStreamChannel(@Nonnull PlexusIoResource resource) {
+        return newStreamChannel(resource::getContents, resource::getSize);
+    }
+
+    @Nonnull
+    static SeekableByteChannel newStreamChannel(@Nonnull ContentSupplier contents, @Nonnull SizeSupplier size) {
+        return new StreamChannel(contents, size);
+    }
+
+    /**
+     * Copies the contents of the given resource from {@link PlexusIoResource#getContents()} to the
+     * given channel, which is not closed.
+     * @return The number of bytes, which have been written.
+     */
+    public static long copy(@Nonnull PlexusIoResource resource, @Nonnull WritableByteChannel target)
+            throws IOException {
+        return copy(resource::getContents, target);
+    }
+
+    static long copy(@Nonnull ContentSupplier contents, @Nonnull WritableByteChannel target) throws IOException {
+        final byte[] bytes = new byte[BUFFER_SIZE];
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long count = 0;
+        try (InputStream in = contents.getContents()) {
+            for (int read = in.read(bytes); read != -1; read = in.read(bytes)) {
+                buffer.clear().limit(read);
+                write(buffer, target);
+                count += read;
+            }
+        }
+        return count;
+    }
+
+    static FileChannel open(@Nonnull File file) throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    }
+
+    /**
+     * Transfers the file, leaving the copying to the operating system, if possible.
+     */
+    static long transferFile(@Nonnull File file, @Nonnull WritableByteChannel target) throws IOException {
+        try (FileChannel channel = open(file)) {
+            final long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                final long transferred = channel.transferTo(position, size - position, target);
+                if (transferred <= 0) {
+                    // The file has been truncated
+                    break;
+                }
+                position += transferred;
+            }
+            return position;
+        }
+    }
+
+    static void write(@Nonnull ByteBuffer buffer, @Nonnull WritableByteChannel target) throws IOException {
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    /**
+     * A channel, which reads from an input stream.
+     */
+    private static final class StreamChannel implements SeekableByteChannel {
+        private final ContentSupplier contents;
+
+        private final SizeSupplier sizeSupplier;
+
+        private InputStream in;
+
+        private long streamPosition;
+
+        private long position;
+
+        private long size = PlexusIoResource.UNKNOWN_RESOURCE_SIZE;
+
+        private boolean open = true;
+
+        StreamChannel(ContentSupplier contents, SizeSupplier sizeSupplier) {
+            this.contents = contents;
+            this.sizeSupplier = sizeSupplier;
+        }
+
+        public int read(ByteBuffer dst) throws IOException {
+            ensureOpen();
+            if (!dst.hasRemaining()) {
+                return 0;
+            }
+            if (in == null || streamPosition > position) {
+                closeStream();
+                in = contents.getContents();
+                streamPosition = 0;
+            }
+            while (streamPosition < position) {
+                final long skipped = in.skip(position - streamPosition);
+                if (skipped > 0) {
+                    streamPosition += skipped;
+                } else if (in.read() == -1) {
+                    return -1;
+                } else {
+                    streamPosition++;
+                }
+            }
+            final int read;
+            if (dst.hasArray()) {
+                read = in.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+                if (read > 0) {
+                    dst.position(dst.position() + read);
+                }
+            } else {
+                final byte[] bytes = new byte[Math.min(dst.remaining(), BUFFER_SIZE)];
+                read = in.read(bytes);
+                if (read > 0) {
+                    dst.put(bytes, 0, read);
+                }
+            }
+            if (read > 0) {
+                position += read;
+                streamPosition += read;
+            }
+            return read;
+        }
+
+        public int write(ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+
+        public long position() throws IOException {
+            ensureOpen();
+            return position;
+        }
+
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            ensureOpen();
+            if (newPosition < 0) {
+                throw new IllegalArgumentException("Invalid position: " + newPosition);
+            }
+            position = newPosition;
+            return this;
+        }
+
+        public long size() throws IOException {
+            ensureOpen();
+            if (size == PlexusIoResource.UNKNOWN_RESOURCE_SIZE) {
+                long s = sizeSupplier.getSize();
+                if (s == PlexusIoResource.UNKNOWN_RESOURCE_SIZE) {
+                    s = 0;
+                    final byte[] bytes = new byte[BUFFER_SIZE];
+                    try (InputStream counted = contents.getContents()) {
+                        for (int read = counted.read(bytes); read != -1; read = counted.read(bytes)) {
+                            s += read;
+                        }
+                    }
+                }
+                size = s;
+            }
+            return size;
+        }
+
+        public SeekableByteChannel truncate(long newSize) {
+            throw new NonWritableChannelException();
+        }
+
+        public boolean isOpen() {
+            return open;
+        }
+
+        public void close() throws IOException {
+            open = false;
+            closeStream();
+        }
+
+        private void closeStream() throws IOException {
+            if (in != null) {
+                final InputStream stream = in;
+                in = null;
+                stream.close();
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+        }
+    }
+}
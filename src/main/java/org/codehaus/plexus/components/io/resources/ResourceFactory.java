@@ -16,11 +16,11 @@
  */
 public class ResourceFactory {
     public static PlexusIoResource createResource(File f) throws IOException {
-        return createResource(f, getName(f), null, null, getFileAttributes(f));
+        return createResource(f, getName(f), null, (InputStreamTransformer) null);
     }
 
     public static PlexusIoResource createResource(File f, String name) throws IOException {
-        return createResource(f, name, null, null, getFileAttributes(f));
+        return createResource(f, name, null, (InputStreamTransformer) null);
     }
 
     public static PlexusIoResource createResource(
@@ -31,13 +31,18 @@ public static PlexusIoResource createResource(
 
     public static PlexusIoResource createResource(File f, InputStreamTransformer inputStreamTransformer)
             throws IOException {
-        return createResource(f, getName(f), null, inputStreamTransformer, getFileAttributes(f));
+        return createResource(f, getName(f), null, inputStreamTransformer);
     }
 
     public static PlexusIoResource createResource(
             File f, String name, final ContentSupplier contentSupplier, InputStreamTransformer inputStreamTransformer)
             throws IOException {
-        return createResource(f, name, contentSupplier, inputStreamTransformer, getFileAttributes(f));
+        PlexusIoResourceAttributes attributes = getFileAttributes(f);
+        // Unless f is a symbolic link, the attributes are the same, whether links are followed, or not
+        FileAttributes fileAttributes = attributes instanceof FileAttributes && !attributes.isSymbolicLink()
+                ? (FileAttributes) attributes
+                : null;
+        return createResource(f, name, contentSupplier, inputStreamTransformer, attributes, fileAttributes);
     }
 
     public static PlexusIoResource createResource(
@@ -47,10 +52,58 @@ public static PlexusIoResource createResource(
             InputStreamTransformer inputStreamTransformer,
             PlexusIoResourceAttributes attributes)
             throws IOException {
+        return createResource(f, name, contentSupplier, inputStreamTransformer, attributes, null);
+    }
+
+    /**
+     * Creates a resource, reusing file attributes, which have already been read, rather than
+     * reading them again.
+     * @param attributes The resources attributes, possibly merged with default or override attributes.
+     * @param fileAttributes The attributes of {@code f}, which must have been read following symbolic links,
+     *   unless {@code f} is no symbolic link, or null, if they are to be read from the file system.
+     * @since 3.8.0
+     */
+    public static PlexusIoResource createResource(
+            File f,
+            String name,
+            final ContentSupplier contentSupplier,
+            InputStreamTransformer inputStreamTransformer,
+            PlexusIoResourceAttributes attributes,
+            FileAttributes fileAttributes)
+            throws IOException {
+        return createResource(
+                f,
+                name,
+                contentSupplier,
+                inputStreamTransformer,
+                attributes,
+                fileAttributes,
+                ContentBuffers.getDefault(),
+                TransformMode.EAGER);
+    }
+
+    static PlexusIoResource createResource(
+            File f,
+            String name,
+            final ContentSupplier contentSupplier,
+            InputStreamTransformer inputStreamTransformer,
+            PlexusIoResourceAttributes attributes,
+            FileAttributes fileAttributes,
+            ContentBuffers contentBuffers,
+            TransformMode transformMode)
+            throws IOException {
         boolean symbolicLink = attributes.isSymbolicLink();
-        return symbolicLink
-                ? new PlexusIoSymlinkResource(f, name, attributes)
-                : new PlexusIoFileResource(
-                        f, name, attributes, new FileAttributes(f, true), contentSupplier, inputStreamTransformer);
+        if (symbolicLink) {
+            return new PlexusIoSymlinkResource(f, name, attributes);
+        }
+        return new PlexusIoFileResource(
+                f,
+                name,
+                attributes,
+                fileAttributes != null ? fileAttributes : new FileAttributes(f, true),
+                contentSupplier,
+                inputStreamTransformer,
+                contentBuffers,
+                transformMode);
     }
 }
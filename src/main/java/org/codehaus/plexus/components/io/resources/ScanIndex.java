@@ -0,0 +1,166 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A persistent index of directory listings, which allows a rescan to skip reading directories,
+ * which haven't changed since the previous scan.
+ * <p>
+ * For each directory, the index records its modification time and the names of its entries.
+ * A listing is only reused if the directory still has the recorded modification time, and
+ * directories, which have been modified shortly before being recorded, are not recorded at all,
+ * so that changes within the file systems timestamp granularity aren't missed. The entries
+ * themselves are still read from the file system, because modifying a file doesn't change the
+ * modification time of its directory.
+ * <p>
+ * An index file, which is missing, truncated, corrupt, or has been written for another base
+ * directory, is ignored, and replaced after the next complete scan.
+ */
+class ScanIndex {
+    private static final int MAGIC = 0x50494f58; // "PIOX"
+
+    private static final int VERSION = 1;
+
+    /**
+     * Directories modified less than this many milliseconds before the scan started aren't recorded.
+     */
+    private static final long RACY_MARGIN_MILLIS = 2000;
+
+    private final File indexFile;
+
+    private final String baseDir;
+
+    private final long scanStartMillis;
+
+    private final Map<String, Listing> previous;
+
+    private final Map<String, Listing> current = new ConcurrentHashMap<>();
+
+    private ScanIndex(File indexFile, String baseDir, Map<String, Listing> previous) {
+        this.indexFile = indexFile;
+        this.baseDir = baseDir;
+        this.previous = previous;
+        this.scanStartMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Loads the index for the given base directory. Any problem with the index file results in an empty index.
+     */
+    static ScanIndex load(File indexFile, File baseDir) {
+        String base = baseDir.getAbsolutePath();
+        Map<String, Listing> listings;
+        try {
+            listings = read(indexFile, base);
+        } catch (IOException | RuntimeException e) {
+            listings = null;
+        }
+        return new ScanIndex(indexFile, base, listings == null ? Collections.emptyMap() : listings);
+    }
+
+    /**
+     * Returns the recorded entry names of the given directory, if they are still valid, or null.
+     */
+    String[] list(String name, FileTime lastModified) {
+        Listing listing = previous.get(name);
+        if (listing == null || lastModified == null || listing.lastModified != toNanos(lastModified)) {
+            return null;
+        }
+        current.put(name, listing);
+        return listing.names.clone();
+    }
+
+    /**
+     * Records the entry names, which have just been read from the given directory.
+     */
+    void record(String name, FileTime lastModified, String[] names) {
+        if (lastModified == null || lastModified.toMillis() + RACY_MARGIN_MILLIS > scanStartMillis) {
+            return;
+        }
+        current.put(name, new Listing(toNanos(lastModified), names.clone()));
+    }
+
+    /**
+     * Replaces the index file with the directories, which have been visited by the current scan.
+     * Failing to write the index doesn't fail the scan, it just makes the next scan slower.
+     */
+    void save() {
+        try {
+            ChecksummedFiles.write(indexFile, MAGIC, VERSION, this::write);
+        } catch (IOException ignore) {
+            // The index is an optimization only
+        }
+    }
+
+    private static long toNanos(FileTime time) {
+        return time.to(TimeUnit.NANOSECONDS);
+    }
+
+    private static Map<String, Listing> read(File indexFile, String baseDir) throws IOException {
+        return ChecksummedFiles.read(indexFile, MAGIC, VERSION, data -> {
+            if (!baseDir.equals(data.readUTF())) {
+                return null;
+            }
+            int directories = data.readInt();
+            Map<String, Listing> listings = new HashMap<>(Math.max(16, directories * 4 / 3 + 1));
+            for (int i = 0; i < directories; i++) {
+                String name = data.readUTF();
+                long lastModified = data.readLong();
+                String[] names = new String[data.readInt()];
+                for (int j = 0; j < names.length; j++) {
+                    names[j] = data.readUTF();
+                }
+                listings.put(name, new Listing(lastModified, names));
+            }
+            return listings;
+        });
+    }
+
+    private void write(DataOutputStream data) throws IOException {
+        data.writeUTF(baseDir);
+        data.writeInt(current.size());
+        for (Map.Entry<String, Listing> entry : current.entrySet()) {
+            Listing listing = entry.getValue();
+            data.writeUTF(entry.getKey());
+            data.writeLong(listing.lastModified);
+            data.writeInt(listing.names.length);
+            for (String name : listing.names) {
+                data.writeUTF(name);
+            }
+        }
+    }
+
+    private static final class Listing {
+        final long lastModified;
+
+        final String[] names;
+
+        Listing(long lastModified, String[] names) {
+            this.lastModified = lastModified;
+            this.names = names;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.codehaus.plexus.components.io.fileselectors.CompiledMatchPatterns;
+import org.codehaus.plexus.components.io.fileselectors.ExcludedSubtrees;
+import org.codehaus.plexus.util.DirectoryScanner;
+
+/**
+ * The include/exclude patterns of a {@link PlexusIoFileResourceCollection}, set up exactly like the
+ * {@link DirectoryScanner} would set them up, but usable without running a scan. The patterns are
+ * matched by a {@link CompiledMatchPatterns}. If used as a scanner, directories, which are excluded
+ * together with their contents, are not scanned.
+ */
+final class ScanPatterns extends DirectoryScanner {
+    private final CompiledMatchPatterns compiledIncludes;
+
+    private final CompiledMatchPatterns compiledExcludes;
+
+    private final ExcludedSubtrees excludedSubtrees;
+
+    ScanPatterns(String[] includes, String[] excludes, boolean useDefaultExcludes, boolean caseSensitive) {
+        if (includes != null && includes.length > 0) {
+            setIncludes(includes);
+        }
+        if (excludes != null && excludes.length > 0) {
+            setExcludes(excludes);
+        }
+        if (useDefaultExcludes) {
+            addDefaultExcludes();
+        }
+        setCaseSensitive(caseSensitive);
+        setupDefaultFilters();
+        setupMatchPatterns();
+        compiledIncludes = CompiledMatchPatterns.from(caseSensitive, this.includes);
+        compiledExcludes = CompiledMatchPatterns.from(caseSensitive, this.excludes);
+        excludedSubtrees = ExcludedSubtrees.from(this.excludes);
+    }
+
+    /**
+     * Returns, whether the given relative name is included, and not excluded.
+     * @param name The relative name, using platform separators
+     */
+    boolean matches(String name) {
+        return isIncluded(name) && !isExcluded(name);
+    }
+
+    /**
+     * Returns, whether the directory with the given relative name may contain included entries.
+     * @param name The relative name, using platform separators
+     */
+    boolean couldHoldSelected(String name) {
+        return couldHoldIncluded(name);
+    }
+
+    @Override
+    protected boolean isIncluded(String name) {
+        return compiledIncludes.matches(name);
+    }
+
+    @Override
+    protected boolean isIncluded(String name, String[] tokenizedName) {
+        return compiledIncludes.matches(name);
+    }
+
+    @Override
+    protected boolean isIncluded(String name, char[][] tokenizedName) {
+        return compiledIncludes.matches(name);
+    }
+
+    @Override
+    protected boolean isExcluded(String name) {
+        return compiledExcludes.matches(name);
+    }
+
+    @Override
+    protected boolean isExcluded(String name, String[] tokenizedName) {
+        return compiledExcludes.matches(name);
+    }
+
+    @Override
+    protected boolean isExcluded(String name, char[][] tokenizedName) {
+        return compiledExcludes.matches(name);
+    }
+
+    @Override
+    protected boolean couldHoldIncluded(String name) {
+        return super.couldHoldIncluded(name) && !excludedSubtrees.isExcluded(name, isCaseSensitive);
+    }
+}
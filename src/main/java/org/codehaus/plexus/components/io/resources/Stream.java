@@ -16,8 +16,12 @@
  */
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 import org.codehaus.plexus.components.io.functions.PlexusIoResourceConsumer;
+import org.codehaus.plexus.components.io.functions.PlexusIoResourceFunction;
+import org.codehaus.plexus.components.io.functions.PlexusIoResultConsumer;
 
 public interface Stream {
     /**
@@ -26,4 +30,69 @@ public interface Stream {
      * @throws java.io.IOException .
      */
     void forEach(PlexusIoResourceConsumer resourceConsumer) throws IOException;
+
+    /**
+     * Invokes the #PlexusIoResourceConsumer for each resource in this collection, using the given executor.
+     * The resources are produced in the calling thread, and at most {@code maxInFlight} invocations are
+     * submitted, or running at any time. This method returns, when all invocations are complete.
+     * If an invocation fails, no further invocations are submitted, those, which haven't started yet,
+     * are cancelled, and the failure is thrown, once the running invocations are complete.
+     * @param executor The executor, which runs the invocations
+     * @param maxInFlight The maximum number of invocations, which are submitted, or running
+     * @param resourceConsumer The consumer of the resource, which must be thread safe
+     * @throws java.io.IOException .
+     * @since 3.8.0
+     */
+    default void forEach(Executor executor, int maxInFlight, PlexusIoResourceConsumer resourceConsumer)
+            throws IOException {
+        ParallelForEach.forEach(this, executor, maxInFlight, resourceConsumer);
+    }
+
+    /**
+     * Applies the function to each resource in this collection, using the given executor, and passes
+     * the results to the result consumer in the calling thread, and in the order of the resources.
+     * At most {@code maxInFlight} results are computed, or waiting to be consumed at any time.
+     * Failures are handled as in {@link #forEach(Executor, int, PlexusIoResourceConsumer)}.
+     * @param executor The executor, which runs the function
+     * @param maxInFlight The maximum number of results, which are computed, or waiting to be consumed
+     * @param function Computes the result for a resource, must be thread safe
+     * @param resultConsumer Consumes the results in order
+     * @throws java.io.IOException .
+     * @since 3.8.0
+     */
+    default <T> void forEachOrdered(
+            Executor executor,
+            int maxInFlight,
+            PlexusIoResourceFunction<T> function,
+            PlexusIoResultConsumer<T> resultConsumer)
+            throws IOException {
+        ParallelForEach.forEachOrdered(this, executor, maxInFlight, function, resultConsumer);
+    }
+
+    /**
+     * Invokes the #PlexusIoResourceConsumer for each resource in this collection, in one virtual thread
+     * per resource. This is meant for consumers, which spend most of their time blocked in I/O. On
+     * runtimes without virtual threads (before Java 21), a pool of up to four platform threads per
+     * processor is used instead. Failures are handled as in {@link #forEach(Executor, int, PlexusIoResourceConsumer)}.
+     * <p>
+     * The consumer receives resources, which forward to the resources of this collection. Each stream,
+     * or channel, which the consumer opens on such a resource, holds a permit, until it is closed.
+     * Consumers must not open more than one resource at a time, unless {@code maxOpenFiles} exceeds
+     * {@code maxConcurrency} accordingly.
+     * @param maxConcurrency The maximum number of consumers, which are running concurrently
+     * @param maxOpenFiles The maximum number of resources, which are open at the same time
+     * @param resourceConsumer The consumer of the resource, which must be thread safe
+     * @throws java.io.IOException .
+     * @since 3.8.0
+     */
+    default void forEachConcurrently(int maxConcurrency, int maxOpenFiles, PlexusIoResourceConsumer resourceConsumer)
+            throws IOException {
+        final FilePermits filePermits = new FilePermits(maxOpenFiles);
+        final ExecutorService executor = VirtualThreads.newExecutor(maxConcurrency);
+        try {
+            forEach(executor, maxConcurrency, resource -> resourceConsumer.accept(filePermits.limit(resource)));
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
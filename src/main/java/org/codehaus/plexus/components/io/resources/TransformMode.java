@@ -0,0 +1,40 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.codehaus.plexus.components.io.functions.InputStreamTransformer;
+
+/**
+ * Specifies, when a resources contents are passed through an {@link InputStreamTransformer}.
+ * @since 3.8.0
+ */
+public enum TransformMode {
+    /**
+     * The contents are transformed, and buffered, when the resource is created. This is the default.
+     */
+    EAGER,
+    /**
+     * The contents are transformed, and buffered, when the resources contents, or size, are
+     * requested for the first time. Resources, which are never read, cost no transformation.
+     */
+    LAZY,
+    /**
+     * The contents are transformed again, whenever they are read, and never buffered. The size
+     * of such a resource is {@link PlexusIoResource#UNKNOWN_RESOURCE_SIZE}.
+     */
+    STREAMING
+}
@@ -0,0 +1,125 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import javax.annotation.Nonnull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.apache.commons.io.output.DeferredFileOutputStream;
+import org.codehaus.plexus.components.io.functions.ChannelSupplier;
+import org.codehaus.plexus.components.io.functions.ContentSupplier;
+import org.codehaus.plexus.components.io.functions.SizeSupplier;
+
+/**
+ * The transformed contents of a resource, which are buffered, or streamed, as specified
+ * by a {@link TransformMode}.
+ */
+final class TransformedContents implements ContentSupplier, SizeSupplier, ChannelSupplier {
+    private final ContentSupplier transformed;
+
+    private final ContentBuffers contentBuffers;
+
+    private final TransformMode transformMode;
+
+    private volatile ContentBuffers.Buffer buffer;
+
+    private DeferredFileOutputStream deferredStream;
+
+    /**
+     * Creates a new instance, which buffers the contents immediately in {@link TransformMode#EAGER}.
+     * @param transformed Opens a new stream with the transformed contents.
+     */
+    TransformedContents(
+            @Nonnull ContentSupplier transformed,
+            @Nonnull ContentBuffers contentBuffers,
+            @Nonnull TransformMode transformMode)
+            throws IOException {
+        this.transformed = transformed;
+        this.contentBuffers = contentBuffers;
+        this.transformMode = transformMode;
+        if (transformMode == TransformMode.EAGER) {
+            buffer = buffer();
+        }
+    }
+
+    @Nonnull
+    public InputStream getContents() throws IOException {
+        if (transformMode == TransformMode.STREAMING) {
+            return transformed.getContents();
+        }
+        return buffer().getContents();
+    }
+
+    public long getSize() {
+        if (transformMode == TransformMode.STREAMING) {
+            return PlexusIoResource.UNKNOWN_RESOURCE_SIZE;
+        }
+        try {
+            return buffer().getSize();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Nonnull
+    public SeekableByteChannel getChannel() throws IOException {
+        if (transformMode == TransformMode.STREAMING) {
+            return ResourceChannels.newStreamChannel(transformed, this);
+        }
+        return buffer().getChannel();
+    }
+
+    public long transferTo(@Nonnull WritableByteChannel target) throws IOException {
+        if (transformMode == TransformMode.STREAMING) {
+            return ResourceChannels.copy(transformed, target);
+        }
+        return buffer().transferTo(target);
+    }
+
+    /**
+     * Returns a copy of the buffered contents, which is created on the first call. Contents, which are
+     * streamed, are buffered for that.
+     */
+    @Nonnull
+    synchronized DeferredFileOutputStream getDeferredStream() throws IOException {
+        if (deferredStream == null) {
+            deferredStream = buffer().toDeferredStream();
+        }
+        return deferredStream;
+    }
+
+    private ContentBuffers.Buffer buffer() throws IOException {
+        ContentBuffers.Buffer result = buffer;
+        if (result == null) {
+            synchronized (this) {
+                result = buffer;
+                if (result == null) {
+                    try (InputStream in = transformed.getContents()) {
+                        result = contentBuffers.buffer(in);
+                    }
+                    buffer = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+package org.codehaus.plexus.components.io.resources;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates executors, which run each task in a new virtual thread, if the runtime supports
+ * virtual threads (Java 21, or later). This class is compiled for older runtimes, and thus
+ * uses reflection. On older runtimes, a pool of daemon platform threads is used instead.
+ */
+final class VirtualThreads {
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private VirtualThreads() {}
+
+    /**
+     * Creates a new executor, which must be shut down after use.
+     * @param maxConcurrency The maximum number of tasks, which are going to run concurrently.
+     *   Without virtual threads, this is also limited to four threads per processor.
+     */
+    static ExecutorService newExecutor(int maxConcurrency) {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Use platform threads
+            }
+        }
+        final int threads = Math.max(1, Math.min(maxConcurrency, 4 * Runtime.getRuntime().availableProcessors()));
+        return Executors.newFixedThreadPool(threads, newDaemonThreadFactory());
+    }
+
+    private static ThreadFactory newDaemonThreadFactory() {
+        final String prefix = "plexus-io-" + POOL_NUMBER.incrementAndGet() + "-";
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Method findVirtualThreadPerTaskExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.codehaus.plexus.components.io.resources.proxy;
+
+import javax.annotation.Nonnull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.codehaus.plexus.components.io.attributes.PlexusIoResourceAttributes;
+import org.codehaus.plexus.components.io.functions.ChannelSupplier;
+import org.codehaus.plexus.components.io.functions.ContentSupplier;
+import org.codehaus.plexus.components.io.functions.FileSupplier;
+import org.codehaus.plexus.components.io.functions.NameSupplier;
+import org.codehaus.plexus.components.io.functions.ResourceAttributeSupplier;
+import org.codehaus.plexus.components.io.functions.SizeSupplier;
+import org.codehaus.plexus.components.io.functions.SymlinkDestinationSupplier;
+import org.codehaus.plexus.components.io.resources.PlexusIoResource;
+import org.codehaus.plexus.components.io.resources.ResourceChannels;
+
+/**
+ * A resource, which forwards to another resource, except for the methods, which are
+ * implemented by an alternate supplier. There is one concrete subclass for each
+ * combination of the optional interfaces {@link SymlinkDestinationSupplier},
+ * {@link FileSupplier} and {@link ResourceAttributeSupplier}, so that the delegate
+ * implements exactly the same of these interfaces as the target. All delegates implement
+ * {@link ChannelSupplier}, and use the targets channels, unless the contents are replaced.
+ */
+abstract class DelegatingResource implements PlexusIoResource, ChannelSupplier {
+    final PlexusIoResource target;
+
+    private final ContentSupplier contentSupplier;
+
+    private final ChannelSupplier channelSupplier;
+
+    private final NameSupplier nameSupplier;
+
+    private final SizeSupplier sizeSupplier;
+
+    private final SymlinkDestinationSupplier symlinkDestinationSupplier;
+
+    private final ResourceAttributeSupplier resourceAttributeSupplier;
+
+    DelegatingResource(@Nonnull PlexusIoResource target, Object alternateSupplier) {
+        this.target = target;
+        this.contentSupplier = asOrNull(alternateSupplier, ContentSupplier.class);
+        this.channelSupplier = asOrNull(alternateSupplier, ChannelSupplier.class);
+        this.nameSupplier = asOrNull(alternateSupplier, NameSupplier.class);
+        this.sizeSupplier = asOrNull(alternateSupplier, SizeSupplier.class);
+        this.symlinkDestinationSupplier = asOrNull(alternateSupplier, SymlinkDestinationSupplier.class);
+        this.resourceAttributeSupplier = asOrNull(alternateSupplier, ResourceAttributeSupplier.class);
+    }
+
+    static PlexusIoResource create(@Nonnull PlexusIoResource target, Object alternateSupplier) {
+        final boolean symlink = target instanceof SymlinkDestinationSupplier;
+        final boolean file = target instanceof FileSupplier;
+        final boolean attributes = target instanceof ResourceAttributeSupplier;
+        if (symlink) {
+            if (file) {
+                return attributes
+                        ? new WithAll(target, alternateSupplier)
+                        : new WithSymlinkAndFile(target, alternateSupplier);
+            }
+            return attributes
+                    ? new WithSymlinkAndAttributes(target, alternateSupplier)
+                    : new WithSymlink(target, alternateSupplier);
+        }
+        if (file) {
+            return attributes
+                    ? new WithFileAndAttributes(target, alternateSupplier)
+                    : new WithFile(target, alternateSupplier);
+        }
+        return attributes ? new WithAttributes(target, alternateSupplier) : new Plain(target, alternateSupplier);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T asOrNull(Object instance, Class<T> clazz) {
+        if (clazz.isInstance(instance)) return (T) instance;
+        else return null;
+    }
+
+    public long getLastModified() {
+        return target.getLastModified();
+    }
+
+    public boolean isExisting() {
+        return target.isExisting();
+    }
+
+    public long getSize() {
+        return sizeSupplier != null ? sizeSupplier.getSize() : target.getSize();
+    }
+
+    public boolean isFile() {
+        return target.isFile();
+    }
+
+    public boolean isDirectory() {
+        return target.isDirectory();
+    }
+
+    public boolean isSymbolicLink() {
+        return target.isSymbolicLink();
+    }
+
+    @Nonnull
+    public InputStream getContents() throws IOException {
+        return contentSupplier != null ? contentSupplier.getContents() : target.getContents();
+    }
+
+    /**
+     * Opens a channel on the alternate contents, if any, or the targets contents otherwise.
+     */
+    @Nonnull
+    public SeekableByteChannel getChannel() throws IOException {
+        if (channelSupplier != null) {
+            return channelSupplier.getChannel();
+        }
+        if (contentSupplier != null) {
+            return ResourceChannels.newStreamChannel(this);
+        }
+        return ResourceChannels.getChannel(target);
+    }
+
+    public long transferTo(@Nonnull WritableByteChannel channel) throws IOException {
+        if (channelSupplier != null) {
+            return channelSupplier.transferTo(channel);
+        }
+        if (contentSupplier != null) {
+            return ResourceChannels.copy(this, channel);
+        }
+        return ResourceChannels.transferTo(target, channel);
+    }
+
+    public URL getURL() throws IOException {
+        return target.getURL();
+    }
+
+    public String getName() {
+        return nameSupplier != null ? nameSupplier.getName() : target.getName();
+    }
+
+    String symlinkDestination() throws IOException {
+        return symlinkDestinationSupplier != null
+                ? symlinkDestinationSupplier.getSymlinkDestination()
+                : ((SymlinkDestinationSupplier) target).getSymlinkDestination();
+    }
+
+    File file() {
+        return ((FileSupplier) target).getFile();
+    }
+
+    PlexusIoResourceAttributes attributes() {
+        return resourceAttributeSupplier != null
+                ? resourceAttributeSupplier.getAttributes()
+                : ((ResourceAttributeSupplier) target).getAttributes();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return target.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return target.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return target.toString();
+    }
+
+    private static final class Plain extends DelegatingResource {
+        Plain(PlexusIoResource target, Object alternateSupplier) {
+            super(target, alternateSupplier);
+        }
+    }
+
+    private static final class WithAttributes extends DelegatingResource implements ResourceAttributeSupplier {
+        WithAttributes(PlexusIoResource target, Object alternateSupplier) {
+            super(target, alternateSupplier);
+        }
+
+        public PlexusIoResourceAttributes getAttributes() {
+            return attributes();
+        }
+    }
+
+    private static final class WithFile extends DelegatingResource implements FileSupplier {
+        WithFile(PlexusIoResource target, Object alternateSupplier) {
+            super(target, alternateSupplier);
+        }
+
+        @Nonnull
+        public File getFile() {
+            return file();
+        }
+    }
+
+    private static final class WithFileAndAttributes extends DelegatingResource
+            implements FileSupplier, ResourceAttributeSupplier {
+        WithFileAndAttributes(PlexusIoResource target, Object alternateSupplier) {
+            super(target, alternateSupplier);
+        }
+
+        @Nonnull
+        public File getFile() {
+            return file();
+        }
+
+        public PlexusIoResourceAttributes getAttributes() {
+            return attributes();
+        }
+    }
+
+    private static final class WithSymlink extends DelegatingResource implements SymlinkDestinationSupplier {
+        WithSymlink(PlexusIoResource target, Object alternateSupplier) {
+            super(target, alternateSupplier);
+        }
+
+        public String getSymlinkDestination() throws IOException {
+            return symlinkDestination();
+        }
+    }
+
+    private static final class WithSymlinkAndAttributes extends DelegatingResource
+            implements SymlinkDestinationSupplier, ResourceAttributeSupplier {
+        WithSymlinkAndAttributes(PlexusIoResource target, Object alternateSupplier) {
+            super(target, alternateSupplier);
+        }
+
+        public String getSymlinkDestination() throws IOException {
+            return symlinkDestination();
+        }
+
+        public PlexusIoResourceAttributes getAttributes() {
+            return attributes();
+        }
+    }
+
+    private static final class WithSymlinkAndFile extends DelegatingResource
+            implements SymlinkDestinationSupplier, FileSupplier {
+        WithSymlinkAndFile(PlexusIoResource target, Object alternateSupplier) {
+            super(target, alternateSupplier);
+        }
+
+        public String getSymlinkDestination() throws IOException {
+            return symlinkDestination();
+        }
+
+        @Nonnull
+        public File getFile() {
+            return file();
+        }
+    }
+
+    private static final class WithAll extends DelegatingResource
+            implements SymlinkDestinationSupplier, FileSupplier, ResourceAttributeSupplier {
+        WithAll(PlexusIoResource target, Object alternateSupplier) {
+            super(target, alternateSupplier);
+        }
+
+        public String getSymlinkDestination() throws IOException {
+            return symlinkDestination();
+        }
+
+        @Nonnull
+        public File getFile() {
+            return file();
+        }
+
+        public PlexusIoResourceAttributes getAttributes() {
+            return attributes();
+        }
+    }
+}
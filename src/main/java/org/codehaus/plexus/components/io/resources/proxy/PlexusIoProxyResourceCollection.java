@@ -18,6 +18,7 @@
 
 import javax.annotation.Nonnull;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.Iterator;
@@ -111,6 +112,8 @@ class FwdIterator extends ForwardingIterator {
 
         private final String prefix = getNonEmptyPrfix();
 
+        private final SubtreeFilter subtreeFilter = new SubtreeFilter();
+
         FwdIterator(Iterator<PlexusIoResource> resources) {
             super(resources);
             this.iter = resources;
@@ -120,14 +123,11 @@ class FwdIterator extends ForwardingIterator {
          * Returns the next resource or null if no next resource;
          */
         protected PlexusIoResource getNextResource() throws IOException {
-            if (!iter.hasNext()) return null;
-            PlexusIoResource plexusIoResource = iter.next();
-
-            while ((!fileSelector.isSelected(plexusIoResource) || !isSelected(plexusIoResource))
-                    || (plexusIoResource.isDirectory() && !isIncludingEmptyDirectories())) {
+            PlexusIoResource plexusIoResource;
+            do {
                 if (!iter.hasNext()) return null;
                 plexusIoResource = iter.next();
-            }
+            } while (!accept(plexusIoResource));
 
             PlexusIoResourceAttributes attrs = null;
             if (plexusIoResource instanceof ResourceAttributeSupplier) {
@@ -156,10 +156,33 @@ public PlexusIoResourceAttributes getAttributes() {
             }
             return plexusIoResource;
         }
+
+        private boolean accept(PlexusIoResource resource) throws IOException {
+            if (subtreeFilter.isPruned(resource)) {
+                return false;
+            }
+            if (resource.isDirectory()) {
+                final String name = resource.getName();
+                if (!fileSelector.couldHoldSelected(name) || !couldHoldSelected(name)) {
+                    subtreeFilter.prune(resource);
+                }
+            }
+            return fileSelector.isSelected(resource)
+                    && isSelected(resource)
+                    && (!resource.isDirectory() || isIncludingEmptyDirectories());
+        }
     }
 
     public Stream stream() {
-        return getSrc().stream();
+        return resourceConsumer -> {
+            final Iterator<PlexusIoResource> it = getResources();
+            while (it.hasNext()) {
+                resourceConsumer.accept(it.next());
+            }
+            if (it instanceof Closeable) {
+                ((Closeable) it).close();
+            }
+        };
     }
 
     public Iterator<PlexusIoResource> getResources() throws IOException {
@@ -17,27 +17,19 @@
 
 import javax.annotation.Nonnull;
 
-import java.lang.reflect.Proxy;
-import java.util.ArrayList;
-import java.util.List;
-
 import org.codehaus.plexus.components.io.functions.FileSupplier;
 import org.codehaus.plexus.components.io.functions.ResourceAttributeSupplier;
 import org.codehaus.plexus.components.io.functions.SymlinkDestinationSupplier;
 import org.codehaus.plexus.components.io.resources.PlexusIoResource;
 
 public class ProxyFactory {
+    /**
+     * Creates a resource, which forwards to the given target, except for the methods,
+     * which are implemented by the alternate supplier. The result implements
+     * {@link SymlinkDestinationSupplier}, {@link FileSupplier}, and
+     * {@link ResourceAttributeSupplier}, if the target does.
+     */
     public static PlexusIoResource createProxy(@Nonnull PlexusIoResource target, Object alternateSupplier) {
-
-        List<Class> interfaces = new ArrayList<>();
-        interfaces.add(PlexusIoResource.class);
-        if (target instanceof SymlinkDestinationSupplier) interfaces.add(SymlinkDestinationSupplier.class);
-        if (target instanceof FileSupplier) interfaces.add(FileSupplier.class);
-        if (target instanceof ResourceAttributeSupplier) interfaces.add(ResourceAttributeSupplier.class);
-
-        return (PlexusIoResource) Proxy.newProxyInstance(
-                PlexusIoResource.class.getClassLoader(),
-                interfaces.toArray(new Class[0]),
-                new ResourceInvocationHandler(target, alternateSupplier));
+        return DelegatingResource.create(target, alternateSupplier);
     }
 }
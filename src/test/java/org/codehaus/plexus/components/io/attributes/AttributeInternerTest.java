@@ -0,0 +1,122 @@
+package org.codehaus.plexus.components.io.attributes;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SuppressWarnings("OctalInteger")
+class AttributeInternerTest {
+
+    @Test
+    void equalAttributesAreShared() {
+        AttributeInterner interner = new AttributeInterner();
+        PlexusIoResourceAttributes first = interner.intern(new SimpleResourceAttributes(1, "user", 2, "group", 0644));
+        PlexusIoResourceAttributes second = interner.intern(new SimpleResourceAttributes(1, "user", 2, "group", 0644));
+        PlexusIoResourceAttributes other = interner.intern(new SimpleResourceAttributes(1, "user", 2, "group", 0755));
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(0644, first.getOctalMode());
+        assertEquals("group", first.getGroupName());
+        assertThrows(UnsupportedOperationException.class, () -> ((SimpleResourceAttributes) first).setOctalMode(0600));
+        assertNull(interner.intern(null));
+    }
+
+    @Test
+    void mergesAreMemoized() {
+        AttributeInterner interner = new AttributeInterner();
+        SimpleResourceAttributes override = new SimpleResourceAttributes(null, "builder", null, null, 0);
+        SimpleResourceAttributes def = new SimpleResourceAttributes(0, "root", 0, "root", 0644);
+
+        PlexusIoResourceAttributes first =
+                interner.merge(override, new SimpleResourceAttributes(7, "user", 8, "group", 0640), def);
+        PlexusIoResourceAttributes second =
+                interner.merge(override, new SimpleResourceAttributes(7, "user", 8, "group", 0640), def);
+        assertSame(first, second);
+        assertEquals("builder", first.getUserName());
+        assertEquals(Integer.valueOf(7), first.getUserId());
+        assertEquals(0640, first.getOctalMode());
+
+        // Modifying the override invalidates the memoized result
+        override.setUserName("other");
+        PlexusIoResourceAttributes third =
+                interner.merge(override, new SimpleResourceAttributes(7, "user", 8, "group", 0640), def);
+        assertEquals("other", third.getUserName());
+
+        assertSame(first, interner.merge(null, first, def));
+    }
+
+    @Test
+    void mergesDontKeepTheOverride() throws Exception {
+        AttributeInterner interner = new AttributeInterner();
+        SimpleResourceAttributes override = new SimpleResourceAttributes(null, "builder", null, null, 0);
+        interner.merge(override, new SimpleResourceAttributes(7, "user", 8, "group", 0640), null);
+        WeakReference<SimpleResourceAttributes> ref = new WeakReference<>(override);
+        override = null;
+
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(ref.get());
+        // Merging with another override expunges the collected one
+        PlexusIoResourceAttributes merged = interner.merge(
+                new SimpleResourceAttributes(null, "other", null, null, 0),
+                new SimpleResourceAttributes(7, "user", 8, "group", 0640),
+                null);
+        assertEquals("other", merged.getUserName());
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void filesShareTheirOwnerAndMode(@TempDir Path tempDir) throws Exception {
+        AttributeInterner interner = new AttributeInterner();
+        Path first = Files.write(tempDir.resolve("first.txt"), new byte[10]);
+        Path second = Files.write(tempDir.resolve("second.txt"), new byte[20]);
+        Path other = Files.write(tempDir.resolve("other.txt"), new byte[30]);
+        Files.setPosixFilePermissions(first, AttributeUtils.getPermissions(0640));
+        Files.setPosixFilePermissions(second, AttributeUtils.getPermissions(0640));
+        Files.setPosixFilePermissions(other, AttributeUtils.getPermissions(0600));
+        SimpleResourceAttributes override = new SimpleResourceAttributes(null, "builder", null, null, 0);
+
+        FileAttributes base = new FileAttributes(first.toFile());
+        assertSame(base, interner.intern(base));
+        PlexusIoResourceAttributes merged = interner.merge(override, base, null);
+        assertSame(merged, interner.merge(override, new FileAttributes(second.toFile()), null));
+        assertNotSame(merged, interner.merge(override, new FileAttributes(other.toFile()), null));
+        // The size, and modification time are left to the file attributes
+        assertFalse(merged instanceof FileAttributes);
+        assertEquals("builder", merged.getUserName());
+        assertEquals(base.getUserId(), merged.getUserId());
+        assertEquals(base.getGroupName(), merged.getGroupName());
+        assertEquals(0640, merged.getOctalMode());
+    }
+}
@@ -1,15 +1,23 @@
 package org.codehaus.plexus.components.io.attributes;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
 import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -62,4 +70,38 @@ void chmodBackAndForth() throws Exception {
         assertTrue(secondAttrs.isOwnerWritable());
         assertTrue(secondAttrs.isOwnerExecutable());
     }
+
+    @Test
+    void permissionSetsAreTheInverseOfModes() {
+        for (int mode = 0; mode < 01000; mode++) {
+            assertEquals(mode, AttributeUtils.getOctalMode(AttributeUtils.getPermissions(mode)));
+            assertEquals(AttributeUtils.getPermissions(mode), AttributeUtils.getPermissionSet(mode));
+        }
+        assertSame(AttributeUtils.getPermissionSet(0644), AttributeUtils.getPermissionSet(0100644));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> AttributeUtils.getPermissionSet(0644).add(PosixFilePermission.OTHERS_WRITE));
+        // The returned sets are copies, which may be modified
+        AttributeUtils.getPermissions(0644).add(PosixFilePermission.OTHERS_WRITE);
+        assertEquals(0644, AttributeUtils.getOctalMode(AttributeUtils.getPermissions(0644)));
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void bulkChmod(@TempDir Path tempDir) throws Exception {
+        Map<File, Integer> modes = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            modes.put(Files.createFile(tempDir.resolve("file" + i)).toFile(), i % 2 == 0 ? 0600 : 0755);
+        }
+        AttributeUtils.chmod(modes, 4);
+        for (Map.Entry<File, Integer> entry : modes.entrySet()) {
+            assertEquals((int) entry.getValue(), new FileAttributes(entry.getKey()).calculatePosixOctalMode());
+        }
+
+        modes.put(tempDir.resolve("missing").toFile(), 0644);
+        modes.put(tempDir.resolve("alsoMissing").toFile(), 0644);
+        IOException e = assertThrows(IOException.class, () -> AttributeUtils.chmod(modes, 1));
+        assertEquals(1, e.getSuppressed().length);
+        assertTrue(new FileAttributes(tempDir.resolve("file1").toFile()).isOwnerExecutable());
+    }
 }
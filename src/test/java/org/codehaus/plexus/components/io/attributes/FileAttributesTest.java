@@ -17,13 +17,26 @@
  */
 
 import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
 import org.junit.jupiter.api.condition.OS;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Kristian Rosenvold
@@ -52,4 +65,116 @@ void fileAttributesHandlesIOException() throws Exception {
             tempFile.delete();
         }
     }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void principalNamesAreResolvedOnDemand() throws Exception {
+        File tempFile = Files.createTempFile("plexus-io-test", ".tmp").toFile();
+        try {
+            FileAttributes fa = new FileAttributes(tempFile);
+            String owner = Files.getOwner(tempFile.toPath()).getName();
+
+            // Overridden names are used as they are
+            PlexusIoResourceAttributes override = new SimpleResourceAttributes(null, "user", null, "group", 0644);
+            PlexusIoResourceAttributes merged = PlexusIoResourceAttributeUtils.mergeAttributes(override, fa, null);
+            assertEquals("user", merged.getUserName());
+            assertEquals("group", merged.getGroupName());
+            assertEquals(fa.getUserId(), merged.getUserId());
+            assertEquals(0644, merged.getOctalMode());
+
+            // Otherwise, the names of the file are resolved, when requested
+            override = new SimpleResourceAttributes(null, null, null, null, 0644);
+            merged = PlexusIoResourceAttributeUtils.mergeAttributes(override, fa, null);
+            assertEquals(owner, merged.getUserName());
+            assertEquals(owner, fa.getUserName());
+            assertNotNull(merged.getGroupName());
+            assertEquals(fa.getGroupName(), merged.getGroupName());
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void deletedFilesDontHideTheNamesOfOtherFiles() throws Exception {
+        Path deleted = Files.createTempFile("plexus-io-test", ".tmp");
+        Path kept = Files.createTempFile("plexus-io-test", ".tmp");
+        try {
+            FileAttributes deletedAttributes = new FileAttributes(deleted, true);
+            FileAttributes keptAttributes = new FileAttributes(kept, true);
+            Files.delete(deleted);
+
+            deletedAttributes.getUserName();
+            deletedAttributes.getGroupName();
+            // The owner of the deleted file is unknown for now, but not for good
+            assertEquals(Files.getOwner(kept).getName(), keptAttributes.getUserName());
+            assertNotNull(keptAttributes.getGroupName());
+        } finally {
+            Files.deleteIfExists(deleted);
+            Files.delete(kept);
+        }
+    }
+
+    @Test
+    void compactRepresentationKeepsTheAttributes() {
+        FileTime lastModified = FileTime.fromMillis(1600000000000L);
+        FileAttributes fa = new FileAttributes(
+                null,
+                new String("user"),
+                0,
+                null,
+                0750,
+                false,
+                true,
+                false,
+                false,
+                PosixFilePermissions.fromString("rwxr-x---"),
+                42,
+                lastModified);
+
+        assertNull(fa.getUserId());
+        assertEquals(Integer.valueOf(0), fa.getGroupId());
+        assertNull(fa.getGroupName());
+        assertEquals(0750, fa.getOctalMode());
+        assertTrue(fa.isRegularFile());
+        assertFalse(fa.isDirectory() || fa.isSymbolicLink() || fa.isOther());
+        assertTrue(fa.isOwnerReadable() && fa.isOwnerWritable() && fa.isOwnerExecutable());
+        assertTrue(fa.isGroupReadable() && fa.isGroupExecutable());
+        assertFalse(fa.isGroupWritable() || fa.isWorldReadable() || fa.isWorldWritable() || fa.isWorldExecutable());
+        assertEquals(PosixFilePermissions.fromString("rwxr-x---"), fa.getPermissions());
+        assertEquals(42, fa.getSize());
+        assertEquals(lastModified, fa.getLastModifiedTime());
+
+        // The permissions are those of the base, even if the mode is overridden
+        FileAttributes merged = new UserGroupModeFileAttributes(7, new String("user"), 8, "group", 0644, fa);
+        assertEquals(0644, merged.getOctalMode());
+        assertTrue(merged.isOwnerExecutable());
+        assertTrue(merged.isRegularFile());
+        assertSame(fa.getUserName(), merged.getUserName(), "principal names are shared");
+    }
+
+    @Test
+    void attributesOfOtherFileSystemsAreReadFromTheirViews() throws Exception {
+        Path zip = Files.createTempFile("plexus-io-test", ".zip");
+        Files.delete(zip);
+        URI uri = URI.create("jar:" + zip.toUri());
+        try {
+            try (FileSystem fs = FileSystems.newFileSystem(uri, Collections.singletonMap("create", "true"))) {
+                Path file = fs.getPath("/file.txt");
+                Files.write(file, "contents".getBytes(StandardCharsets.UTF_8));
+
+                FileAttributes fa = new FileAttributes(file, false);
+                assertTrue(fa.isRegularFile());
+                assertFalse(fa.isDirectory() || fa.isSymbolicLink());
+                assertEquals(8, fa.getSize());
+                assertEquals(Files.getLastModifiedTime(file), fa.getLastModifiedTime());
+                assertNull(fa.getUserId());
+                assertEquals(PlexusIoResourceAttributes.UNKNOWN_OCTAL_MODE, fa.getOctalMode());
+
+                assertTrue(new FileAttributes(fs.getPath("/"), false).isDirectory());
+            }
+        } finally {
+            Files.deleteIfExists(zip);
+        }
+    }
 }
@@ -18,8 +18,14 @@
 
 import java.io.File;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
@@ -27,6 +33,7 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
 import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.codehaus.plexus.components.io.attributes.PlexusIoResourceAttributeUtils.getFileAttributes;
 import static org.junit.jupiter.api.Assertions.*;
@@ -112,6 +119,107 @@ void srcResource() throws Exception {
         assertTrue(pr.getOctalMode() > 0);
     }
 
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void walkReadsTheWholeTree(@TempDir Path tempDir) throws Exception {
+        Files.createDirectories(tempDir.resolve("a/b/c"));
+        Files.createFile(tempDir.resolve("a/file"));
+        Files.createFile(tempDir.resolve("a/b/c/file"));
+        Files.createSymbolicLink(tempDir.resolve("a/b/loop"), tempDir.resolve("a"));
+        Files.createSymbolicLink(tempDir.resolve("link"), tempDir.resolve("a/b"));
+
+        Map<String, PlexusIoResourceAttributes> byRelativePath =
+                PlexusIoResourceAttributeUtils.getFileAttributesByRelativePath(tempDir.toFile(), false, 3);
+        assertEquals(
+                new TreeSet<>(Arrays.asList(
+                        "",
+                        "a",
+                        "a/file",
+                        "a/b",
+                        "a/b/c",
+                        "a/b/c/file",
+                        "a/b/loop",
+                        "link",
+                        "link/c",
+                        "link/c/file",
+                        "link/loop")),
+                new TreeSet<>(byRelativePath.keySet()));
+        assertFalse(byRelativePath.get("a/b").isSymbolicLink());
+        assertTrue(byRelativePath.get("link").isSymbolicLink());
+
+        // The directory is passed before its contents
+        List<String> order = new ArrayList<>();
+        PlexusIoResourceAttributeUtils.walkFileAttributes(
+                tempDir.toFile(), false, 3, (relativePath, attributes) -> order.add(relativePath));
+        assertEquals("", order.get(0));
+        assertTrue(order.indexOf("a/b") < order.indexOf("a/b/c/file"));
+
+        // The legacy keys are the path of the directory, and the path of each entry
+        Map<String, PlexusIoResourceAttributes> byPath =
+                PlexusIoResourceAttributeUtils.getFileAttributesByPath(tempDir.toFile(), true);
+        assertEquals(byRelativePath.size(), byPath.size());
+        assertNotNull(byPath.get(tempDir.toFile().getPath() + File.separator));
+        assertNotNull(byPath.get(tempDir.resolve("a/b/c/file").toFile().getPath()));
+
+        // Files come before directories, and links to directories, both in depth first order
+        String prefix = tempDir.toFile().getPath() + File.separator;
+        List<String> expected = new ArrayList<>();
+        for (String name : new String[] {
+            "a/b/c/file", "a/file", "link/c/file", "", "a", "a/b", "a/b/c", "a/b/loop", "link", "link/c", "link/loop"
+        }) {
+            expected.add(prefix + name.replace('/', File.separatorChar));
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals(
+                    expected,
+                    new ArrayList<>(PlexusIoResourceAttributeUtils.getFileAttributesByPath(tempDir.toFile(), true)
+                            .keySet()));
+        }
+    }
+
+    @Test
+    void walkEndsCyclesThroughSeveralLinks(@TempDir Path tempDir) throws Exception {
+        Files.createDirectories(tempDir.resolve("a"));
+        Files.createDirectories(tempDir.resolve("b"));
+        Files.createSymbolicLink(tempDir.resolve("a/x"), tempDir.resolve("b"));
+        Files.createSymbolicLink(tempDir.resolve("b/y"), tempDir.resolve("a"));
+
+        for (boolean followLinks : new boolean[] {false, true}) {
+            Map<String, PlexusIoResourceAttributes> byRelativePath =
+                    PlexusIoResourceAttributeUtils.getFileAttributesByRelativePath(tempDir.toFile(), followLinks, 2);
+            assertEquals(
+                    new TreeSet<>(Arrays.asList("", "a", "a/x", "a/x/y", "b", "b/y", "b/y/x")),
+                    new TreeSet<>(byRelativePath.keySet()));
+        }
+    }
+
+    @Test
+    void walkStreamsLargeTrees(@TempDir Path tempDir) throws Exception {
+        for (int i = 0; i < 20; i++) {
+            Files.createDirectories(tempDir.resolve("d" + i));
+            for (int j = 0; j < 150; j++) {
+                Files.createFile(tempDir.resolve("d" + i + "/f" + j));
+            }
+        }
+
+        // More entries, than the walking threads may queue ahead of the consumer
+        List<String> walked = new ArrayList<>();
+        PlexusIoResourceAttributeUtils.walkFileAttributes(
+                tempDir.toFile(), false, 4, (relativePath, attributes) -> walked.add(relativePath));
+        assertEquals(1 + 20 * 151, walked.size());
+
+        // The walking threads stop, although the queue is full
+        IllegalStateException stop = new IllegalStateException("stop");
+        assertSame(
+                stop,
+                assertThrows(
+                        IllegalStateException.class,
+                        () -> PlexusIoResourceAttributeUtils.walkFileAttributes(
+                                tempDir.toFile(), false, 4, (relativePath, attributes) -> {
+                                    throw stop;
+                                })));
+    }
+
     @Test
     void nonExistingDirectory() {
         File dir = new File("src/test/noSuchDirectory");
@@ -0,0 +1,97 @@
+package org.codehaus.plexus.components.io.attributes;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrincipalCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void namesAreResolvedOncePerId() {
+        PrincipalCache cache = new PrincipalCache();
+        AtomicInteger lookups = new AtomicInteger();
+
+        for (int round = 0; round < 3; round++) {
+            for (int id = -5; id < 1000; id++) {
+                String name = cache.get(id, i -> {
+                    lookups.incrementAndGet();
+                    return i % 7 == 0 ? null : "user" + i;
+                });
+                if (id % 7 == 0) {
+                    assertNull(name);
+                } else {
+                    assertEquals("user" + id, name);
+                }
+            }
+        }
+        // Unresolvable ids are cached as well
+        assertEquals(1005, lookups.get());
+    }
+
+    @Test
+    void failedLookupsAreNotCached() {
+        PrincipalCache cache = new PrincipalCache();
+
+        assertNull(cache.get(1000, i -> {
+            throw new NoSuchFileException("deleted");
+        }));
+        assertFalse(cache.contains(1000));
+        assertEquals("builder", cache.get(1000, i -> "builder"));
+        assertTrue(cache.contains(1000));
+        assertEquals("builder", cache.get(1000, i -> "other"));
+    }
+
+    @Test
+    void namesAreLoadedFromDatabase() throws Exception {
+        Path passwd = tempDir.resolve("passwd");
+        Files.write(
+                passwd,
+                Arrays.asList(
+                        "# comment",
+                        "root:x:0:0:root:/root:/bin/bash",
+                        "builder:x:1000:1000::/home/builder:/bin/sh",
+                        "duplicate:x:1000:1000::/home/duplicate:/bin/sh",
+                        "+@netgroup::::::",
+                        "broken"),
+                StandardCharsets.UTF_8);
+        PrincipalCache cache = new PrincipalCache();
+        assertEquals("known", cache.get(0, i -> "known"));
+
+        cache.load(passwd);
+        cache.load(tempDir.resolve("missing"));
+
+        assertEquals("known", cache.get(0, i -> "other"));
+        assertEquals("builder", cache.get(1000, i -> "other"));
+        assertEquals("other", cache.get(1001, i -> "other"));
+    }
+}
@@ -0,0 +1,110 @@
+package org.codehaus.plexus.components.io.fileselectors;
+
+/*
+ * Copyright 2026 The Codehaus Foundation.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.MatchPatterns;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test case for {@link CompiledMatchPatterns}.
+ */
+class CompiledMatchPatternsTest {
+    private static final String[] PATTERNS = {
+        "**/*.java",
+        "src/**/resources/**",
+        "a/*/c",
+        "a?b/**/x*y*z",
+        "/abs/**",
+        "**/**/deep",
+        "%regex[.*\\.txt]",
+        "%ant[ant/**]",
+        "Mixed/Case",
+        "\u212Aelvin",
+    };
+
+    private static final String[] NAMES = {
+        "",
+        "Foo.java",
+        "src/main/java/Foo.java",
+        "src/main/resources/x.properties",
+        "src/resources",
+        "a/b/c",
+        "a/b/c/d",
+        "A/B/C",
+        "axb/x_y_z",
+        "aXB/q/r/xYyZz",
+        "/abs/file",
+        "abs/file",
+        "deep",
+        "x/y/deep",
+        "notes.txt",
+        "ant/file",
+        "mixed/case",
+        "MIXED/CASE",
+        "kelvin",
+        "KELVIN",
+        ".git/config",
+        "sub/.svn/entries",
+        "file~",
+        "#file#",
+    };
+
+    @Test
+    void matchesLikeMatchPatterns() {
+        String[] defaults = FileUtils.getDefaultExcludes();
+        String[] patterns = new String[PATTERNS.length + defaults.length];
+        for (int i = 0; i < PATTERNS.length; i++) {
+            patterns[i] = PATTERNS[i].replace('/', File.separatorChar);
+        }
+        System.arraycopy(defaults, 0, patterns, PATTERNS.length, defaults.length);
+
+        for (boolean caseSensitive : new boolean[] {true, false}) {
+            MatchPatterns expected = MatchPatterns.from(patterns);
+            CompiledMatchPatterns compiled = CompiledMatchPatterns.from(caseSensitive, patterns);
+            for (String name : NAMES) {
+                String path = name.replace('/', File.separatorChar);
+                assertEquals(
+                        expected.matches(path, caseSensitive),
+                        compiled.matches(path),
+                        "case sensitive: " + caseSensitive + ", name: " + name);
+            }
+        }
+    }
+
+    @Test
+    void eachPatternMatchesOnItsOwn() {
+        for (boolean caseSensitive : new boolean[] {true, false}) {
+            for (String pattern : PATTERNS) {
+                String source = pattern.replace('/', File.separatorChar);
+                MatchPatterns expected = MatchPatterns.from(source);
+                CompiledMatchPatterns compiled = CompiledMatchPatterns.from(caseSensitive, source);
+                for (String name : NAMES) {
+                    String path = name.replace('/', File.separatorChar);
+                    assertEquals(
+                            expected.matches(path, caseSensitive),
+                            compiled.matches(path),
+                            "pattern: " + pattern + ", case sensitive: " + caseSensitive + ", name: " + name);
+                }
+            }
+        }
+    }
+}
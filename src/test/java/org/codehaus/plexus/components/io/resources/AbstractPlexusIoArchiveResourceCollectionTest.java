@@ -0,0 +1,78 @@
+package org.codehaus.plexus.components.io.resources;
+
+import javax.annotation.Nonnull;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AbstractPlexusIoArchiveResourceCollectionTest {
+    private static final int COUNT = 1000;
+
+    @Test
+    void indexedArchivesAreSplitIntoEntryRanges() throws Exception {
+        List<PlexusIoResource> entries = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            entries.add(entry(String.format("e%04d", i)));
+        }
+        AbstractPlexusIoArchiveResourceCollection collection = new AbstractPlexusIoArchiveResourceCollection() {
+            protected Iterator<PlexusIoResource> getEntries() {
+                return entries.iterator();
+            }
+
+            protected int getEntryCount() {
+                return entries.size();
+            }
+
+            protected PlexusIoResource getEntry(int index) {
+                return entries.get(index);
+            }
+
+            public boolean isConcurrentAccessSupported() {
+                return true;
+            }
+        };
+        collection.setFileSelectors(new FileSelector[] {resource -> resource.getName().startsWith("e00")});
+
+        Spliterator<PlexusIoResource> suffix = collection.spliterator();
+        assertEquals(COUNT, suffix.estimateSize());
+        Spliterator<PlexusIoResource> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(COUNT / 2, prefix.estimateSize());
+        assertEquals(COUNT / 2, suffix.estimateSize());
+
+        List<String> streamed =
+                collection.parallelStream().map(PlexusIoResource::getName).collect(Collectors.toList());
+        assertTrue(collection.parallelStream().isParallel());
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(String.format("e%04d", i));
+        }
+        assertEquals(expected, streamed);
+    }
+
+    private static PlexusIoResource entry(String name) {
+        return new AbstractPlexusIoResource(name, 0, 0, true, false, true) {
+            @Nonnull
+            public InputStream getContents() {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+
+            public URL getURL() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package org.codehaus.plexus.components.io.resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FingerprinterTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void metadataFingerprintsDependOnTheModificationTimes() throws Exception {
+        Path base = createTree();
+        PlexusIoFileResourceCollection collection = collection(base);
+
+        String fingerprint = collection.getFingerprint(Fingerprinter.Level.METADATA);
+        Fingerprinter sequential = new Fingerprinter();
+        sequential.setParallelism(1);
+        assertEquals(fingerprint, sequential.fingerprint(collection));
+        collection.setLazyScanning(true);
+        assertEquals(fingerprint, collection.getFingerprint(Fingerprinter.Level.METADATA));
+
+        touch(base.resolve("d3/f3.txt"), 1);
+        assertNotEquals(fingerprint, collection.getFingerprint(Fingerprinter.Level.METADATA));
+    }
+
+    @Test
+    void contentFingerprintsDependOnTheContents() throws Exception {
+        Path base = createTree();
+        PlexusIoFileResourceCollection collection = collection(base);
+
+        String fingerprint = collection.getFingerprint(Fingerprinter.Level.CONTENTS);
+        assertEquals(64, fingerprint.length());
+        touch(base.resolve("d3/f3.txt"), 1);
+        assertEquals(fingerprint, collection.getFingerprint(Fingerprinter.Level.CONTENTS));
+
+        collection.setStreamTransformer((resource, inputStream) -> new ByteArrayInputStream(new byte[1]));
+        assertNotEquals(fingerprint, collection.getFingerprint(Fingerprinter.Level.CONTENTS));
+        collection.setStreamTransformer(null);
+
+        Files.write(base.resolve("d3/f3.txt"), "changed".getBytes(UTF_8));
+        touch(base.resolve("d3/f3.txt"), 1);
+        assertNotEquals(fingerprint, collection.getFingerprint(Fingerprinter.Level.CONTENTS));
+    }
+
+    @Test
+    void hashCacheSkipsUnmodifiedFiles() throws Exception {
+        Path base = createTree();
+        PlexusIoFileResourceCollection collection = collection(base);
+        Fingerprinter fingerprinter = new Fingerprinter();
+        fingerprinter.setLevel(Fingerprinter.Level.CONTENTS);
+        File cache = tempDir.resolve("hashes.cache").toFile();
+        fingerprinter.setHashCacheFile(cache);
+
+        String fingerprint = fingerprinter.fingerprint(collection);
+        assertTrue(cache.isFile(), "the hash cache is written");
+
+        // A file with the recorded size, and modification time, isn't read again
+        Path file = base.resolve("d3/f3.txt");
+        long lastModified = file.toFile().lastModified();
+        Files.write(file, "x99".getBytes(UTF_8));
+        assertTrue(file.toFile().setLastModified(lastModified));
+        assertEquals(fingerprint, fingerprinter.fingerprint(collection));
+
+        touch(file, 2);
+        assertNotEquals(fingerprint, fingerprinter.fingerprint(collection));
+
+        // A corrupt cache is ignored
+        Files.write(cache.toPath(), "garbage".getBytes(UTF_8));
+        fingerprinter.setHashCacheFile(null);
+        String uncached = fingerprinter.fingerprint(collection);
+        fingerprinter.setHashCacheFile(cache);
+        assertEquals(uncached, fingerprinter.fingerprint(collection));
+
+        assertThrows(IllegalArgumentException.class, () -> fingerprinter.setAlgorithm("NO-SUCH-DIGEST"));
+    }
+
+    private Path createTree() throws Exception {
+        Path base = Files.createDirectories(tempDir.resolve("base"));
+        for (int i = 0; i < 5; i++) {
+            Files.createDirectories(base.resolve("d" + i));
+            for (int j = 0; j < 5; j++) {
+                Path file = Files.write(base.resolve("d" + i + "/f" + j + ".txt"), ("x" + i + j).getBytes(UTF_8));
+                touch(file, 0);
+            }
+        }
+        return base;
+    }
+
+    private static void touch(Path file, int hours) {
+        assertTrue(file.toFile().setLastModified(1600000000000L + hours * 3600000L));
+    }
+
+    private static PlexusIoFileResourceCollection collection(Path base) {
+        PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
+        collection.setBaseDir(base.toFile());
+        return collection;
+    }
+}
@@ -16,15 +16,32 @@
  * limitations under the License.
  */
 
+import javax.annotation.Nonnull;
+
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+import org.codehaus.plexus.components.io.attributes.AttributeDetail;
+import org.codehaus.plexus.components.io.attributes.PlexusIoResourceAttributes;
+import org.codehaus.plexus.components.io.fileselectors.DefaultFileSelector;
+import org.codehaus.plexus.components.io.fileselectors.FileInfo;
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
+import org.codehaus.plexus.components.io.fileselectors.IncludeExcludeFileSelector;
+import org.codehaus.plexus.components.io.fileselectors.SelectorCost;
+import org.codehaus.plexus.components.io.functions.ResourceAttributeSupplier;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
 import org.junit.jupiter.api.condition.OS;
@@ -35,6 +52,9 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PlexusIoFileResourceCollectionTest {
@@ -110,6 +130,298 @@ void danglingSymlinkDoesNotBreakCollection(@TempDir Path tempDir) throws Excepti
         assertTrue(names.contains("aRegularFile.txt"), "regular files must still be collected, got " + names);
     }
 
+    @Test
+    void lazyScanningReturnsTheSameResources(@TempDir Path tempDir) throws Exception {
+        Files.createDirectories(tempDir.resolve("a/b"));
+        Files.createDirectories(tempDir.resolve("empty"));
+        Files.write(tempDir.resolve("a/b/c.txt"), "c\n".getBytes(UTF_8));
+        Files.write(tempDir.resolve("a/d.txt"), "d\n".getBytes(UTF_8));
+        Files.write(tempDir.resolve("a/e.log"), "e\n".getBytes(UTF_8));
+        Files.write(tempDir.resolve("f.txt"), "f\n".getBytes(UTF_8));
+
+        PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
+        collection.setBaseDir(tempDir.toFile());
+        collection.setExcludes(new String[] {"**/*.log"});
+        collection.setFilenameComparator(String::compareTo);
+        List<String> scanned = names(all(collection));
+
+        collection.setLazyScanning(true);
+        List<String> walked = names(all(collection));
+
+        assertEquals(
+                asList("", "a", "a/b", "a/b/c.txt", "a/d.txt", "empty", "f.txt"),
+                normalized(walked),
+                "a lazy scan returns each directory followed by its contents");
+        assertEquals(new java.util.TreeSet<>(scanned), new java.util.TreeSet<>(walked));
+    }
+
+    @Test
+    void parallelScanningReturnsTheSameOrder(@TempDir Path tempDir) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Files.createDirectories(tempDir.resolve("d" + i + "/sub"));
+            Files.write(tempDir.resolve("d" + i + "/file.txt"), "x\n".getBytes(UTF_8));
+            Files.write(tempDir.resolve("d" + i + "/sub/file.txt"), "y\n".getBytes(UTF_8));
+        }
+
+        PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
+        collection.setBaseDir(tempDir.toFile());
+        collection.setFilenameComparator(String::compareTo);
+        List<String> sequential = names(all(collection));
+
+        collection.setParallelism(4);
+        List<String> parallel = names(all(collection));
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void parallelStreamSplitsAlongDirectories(@TempDir Path tempDir) throws Exception {
+        Path base = Files.createDirectories(tempDir.resolve("base"));
+        for (int i = 0; i < 8; i++) {
+            Files.createDirectories(base.resolve("d" + i + "/sub"));
+            Files.write(base.resolve("d" + i + "/file.txt"), "x\n".getBytes(UTF_8));
+            Files.write(base.resolve("d" + i + "/sub/file.txt"), "y\n".getBytes(UTF_8));
+        }
+
+        PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
+        collection.setBaseDir(base.toFile());
+        collection.setFilenameComparator(String::compareTo);
+        collection.setLazyScanning(true);
+        List<String> walked = names(all(collection));
+
+        File index = tempDir.resolve("scan.idx").toFile();
+        collection.setScanIndexFile(index);
+        List<String> streamed =
+                collection.parallelStream().map(PlexusIoResource::getName).collect(Collectors.toList());
+        assertEquals(walked, streamed);
+        assertTrue(index.isFile(), "a complete parallel scan writes the index");
+
+        Spliterator<PlexusIoResource> suffix = collection.spliterator();
+        Spliterator<PlexusIoResource> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        List<String> split = new ArrayList<>();
+        prefix.forEachRemaining(resource -> split.add(resource.getName()));
+        assertEquals(asList("", "d0", "d0/file.txt", "d0/sub", "d0/sub/file.txt"), normalized(split).subList(0, 5));
+        suffix.forEachRemaining(resource -> split.add(resource.getName()));
+        assertEquals(walked, split);
+    }
+
+    @Test
+    void stalenessChecksDontOpenContents(@TempDir Path tempDir) throws Exception {
+        long past = System.currentTimeMillis() - 3600000L;
+        for (int i = 0; i < 5; i++) {
+            Files.createDirectories(tempDir.resolve("d" + i));
+            for (int j = 0; j < 5; j++) {
+                Path file = Files.write(tempDir.resolve("d" + i + "/f" + j + ".txt"), "x\n".getBytes(UTF_8));
+                assertTrue(file.toFile().setLastModified(past + 1000L * (i * 5 + j)));
+            }
+        }
+        Path excluded = Files.write(tempDir.resolve("d0/excluded.log"), "x\n".getBytes(UTF_8));
+        assertTrue(excluded.toFile().setLastModified(past + 1000000L));
+
+        PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
+        collection.setBaseDir(tempDir.toFile());
+        collection.setIncludingEmptyDirectories(false);
+        collection.setIncludes(new String[] {"**/*.txt"});
+        collection.setFileSelectors(new FileSelector[] {
+            fileInfo -> !fileInfo.getName().endsWith("f4.txt")
+        });
+        collection.setStreamTransformer((resource, inputStream) -> {
+            throw new IOException("contents must not be opened");
+        });
+        assertThrows(IOException.class, () -> all(collection));
+
+        for (int parallelism : new int[] {1, 4}) {
+            collection.setParallelism(parallelism);
+            long newest = past + 1000L * 23;
+            assertEquals(newest, collection.getLastModified());
+            assertTrue(collection.isModifiedAfter(newest - 1));
+            assertFalse(collection.isModifiedAfter(newest));
+
+            Set<String> names = new HashSet<>();
+            for (int i = 0; i < 5; i++) {
+                for (int j = 0; j < 4; j++) {
+                    names.add("d" + i + File.separator + "f" + j + ".txt");
+                }
+            }
+            assertFalse(collection.isEntrySetChanged(names));
+            names.remove("d1" + File.separator + "f1.txt");
+            assertTrue(collection.isEntrySetChanged(names));
+            names.add("d1" + File.separator + "f1.txt");
+            names.add("d9" + File.separator + "f1.txt");
+            assertTrue(collection.isEntrySetChanged(names));
+        }
+
+        // A file with an unknown modification time is stale, and makes the collections time unknown
+        assertTrue(tempDir.resolve("d3/f2.txt").toFile().setLastModified(0));
+        for (int parallelism : new int[] {1, 4}) {
+            collection.setParallelism(parallelism);
+            assertEquals(PlexusIoResource.UNKNOWN_MODIFICATION_DATE, collection.getLastModified());
+            assertTrue(collection.isModifiedAfter(past + 1000L * 23));
+        }
+    }
+
+    @Test
+    void stalenessChecksHandleLargeTrees(@TempDir Path tempDir) throws Exception {
+        long past = System.currentTimeMillis() - 3600000L;
+        for (int i = 0; i < 20; i++) {
+            Files.createDirectories(tempDir.resolve("d" + i));
+            for (int j = 0; j < 150; j++) {
+                Path file = Files.write(tempDir.resolve("d" + i + "/f" + j + ".txt"), new byte[0]);
+                assertTrue(file.toFile().setLastModified(past + 1000L * j));
+            }
+        }
+        PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
+        collection.setBaseDir(tempDir.toFile());
+        collection.setIncludingEmptyDirectories(false);
+        collection.setParallelism(4);
+
+        // More entries, than the walking threads may queue ahead
+        assertEquals(past + 1000L * 149, collection.getLastModified());
+        // The walking threads stop, although the queue is full
+        assertTrue(collection.isModifiedAfter(past - 1));
+        assertFalse(collection.isModifiedAfter(past + 1000L * 149));
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void attributeDetailLimitsTheAttributesRead(@TempDir Path tempDir) throws Exception {
+        Files.write(tempDir.resolve("file.txt"), "file\n".getBytes(UTF_8));
+        PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
+        collection.setBaseDir(tempDir.toFile());
+        collection.setIncludes(new String[] {"file.txt"});
+
+        PlexusIoResourceAttributes full = attributesOf(single(collection));
+        assertNotNull(full.getUserId());
+        assertNotNull(full.getUserName());
+
+        collection.setAttributeDetail(AttributeDetail.POSIX_NUMERIC);
+        PlexusIoResourceAttributes numeric = attributesOf(single(collection));
+        assertEquals(full.getUserId(), numeric.getUserId());
+        assertEquals(full.getOctalMode(), numeric.getOctalMode());
+        assertNull(numeric.getUserName());
+
+        collection.setAttributeDetail(AttributeDetail.BASIC);
+        collection.setOverrideAttributes(-1, "builder", -1, null, 0644, 0755);
+        PlexusIoResource basic = single(collection);
+        assertEquals(5, basic.getSize());
+        assertNull(attributesOf(basic).getUserId());
+        assertEquals("builder", attributesOf(basic).getUserName());
+        assertEquals(0644, attributesOf(basic).getOctalMode());
+
+        // Without override attributes, the unread attributes are unknown
+        collection.setOverrideFileAttributes(null);
+        PlexusIoResource unknown = single(collection);
+        assertEquals("file.txt", unknown.getName());
+        assertTrue(unknown.isFile());
+        assertNull(attributesOf(unknown).getUserName());
+        assertEquals(PlexusIoResourceAttributes.UNKNOWN_OCTAL_MODE, attributesOf(unknown).getOctalMode());
+    }
+
+    @Test
+    void cheapSelectorsAreInvokedFirst(@TempDir Path tempDir) throws Exception {
+        Files.createDirectories(tempDir.resolve("src/sub"));
+        Files.createDirectories(tempDir.resolve("target"));
+        Files.write(tempDir.resolve("src/a.txt"), "a\n".getBytes(UTF_8));
+        Files.write(tempDir.resolve("src/sub/b.txt"), "b\n".getBytes(UTF_8));
+        Files.write(tempDir.resolve("src/c.bin"), "c\n".getBytes(UTF_8));
+        Files.write(tempDir.resolve("target/d.txt"), "d\n".getBytes(UTF_8));
+
+        List<String> sniffed = new ArrayList<>();
+        FileSelector contentSelector = fileInfo -> {
+            synchronized (sniffed) {
+                sniffed.add(fileInfo.getName().replace('\\', '/'));
+            }
+            try (InputStream in = fileInfo.getContents()) {
+                return in.read() != 'b';
+            }
+        };
+        IncludeExcludeFileSelector nameSelector = new IncludeExcludeFileSelector();
+        nameSelector.setIncludes(new String[] {"**/*.txt"});
+        nameSelector.setExcludes(new String[] {"target/**"});
+        Set<Thread> nameThreads = ConcurrentHashMap.newKeySet();
+        FileSelector threadSelector = new FileSelector() {
+            public boolean isSelected(@Nonnull FileInfo fileInfo) {
+                nameThreads.add(Thread.currentThread());
+                return true;
+            }
+
+            @Nonnull
+            @Override
+            public SelectorCost getCost() {
+                return SelectorCost.NAME_ONLY;
+            }
+        };
+
+        PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
+        collection.setBaseDir(tempDir.toFile());
+        collection.setIncludingEmptyDirectories(false);
+        collection.setFileSelectors(new FileSelector[] {contentSelector, nameSelector, threadSelector});
+        collection.setFilenameComparator(String::compareTo);
+
+        for (int mode = 0; mode < 3; mode++) {
+            sniffed.clear();
+            collection.setLazyScanning(mode == 1);
+            collection.setParallelism(mode == 2 ? 4 : 1);
+            assertEquals(asList("src/a.txt"), normalized(names(all(collection))));
+            // The content selector only sees the resources, which have passed the name selector
+            assertEquals(asList("src/a.txt", "src/sub/b.txt"), sniffed.stream().sorted().collect(Collectors.toList()));
+        }
+        assertEquals(Collections.singleton(Thread.currentThread()), nameThreads);
+
+        // Subclasses may read more than the name
+        assertEquals(SelectorCost.NAME_ONLY, nameSelector.getCost());
+        assertEquals(SelectorCost.CONTENT, new IncludeExcludeFileSelector() {}.getCost());
+        assertEquals(SelectorCost.NAME_ONLY, new DefaultFileSelector().getCost());
+    }
+
+    private static PlexusIoResourceAttributes attributesOf(PlexusIoResource resource) {
+        return ((ResourceAttributeSupplier) resource).getAttributes();
+    }
+
+    @Test
+    void scanIndexSkipsUnmodifiedDirectories(@TempDir Path tempDir) throws Exception {
+        Path base = Files.createDirectories(tempDir.resolve("base"));
+        Files.createDirectories(base.resolve("a"));
+        Files.write(base.resolve("a/b.txt"), "b\n".getBytes(UTF_8));
+        Files.write(base.resolve("c.txt"), "c\n".getBytes(UTF_8));
+        long past = System.currentTimeMillis() - 3600000L;
+        assertTrue(base.resolve("a").toFile().setLastModified(past));
+        assertTrue(base.toFile().setLastModified(past));
+
+        PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
+        collection.setBaseDir(base.toFile());
+        collection.setFilenameComparator(String::compareTo);
+        List<String> sequential = names(all(collection));
+
+        File index = tempDir.resolve("scan.idx").toFile();
+        collection.setScanIndexFile(index);
+        assertEquals(sequential, names(all(collection)));
+        assertTrue(index.isFile(), "a complete scan writes the index");
+
+        // A directory, which still has the recorded modification time, isn't listed again
+        Files.write(base.resolve("a/hidden.txt"), "h\n".getBytes(UTF_8));
+        assertTrue(base.resolve("a").toFile().setLastModified(past));
+        assertEquals(sequential, names(all(collection)));
+
+        // A modified directory is listed again
+        Files.write(base.resolve("d.txt"), "d\n".getBytes(UTF_8));
+        assertEquals(asList("", "a", "a/b.txt", "c.txt", "d.txt"), normalized(names(all(collection))));
+
+        // A corrupt index is ignored
+        Files.write(index.toPath(), "garbage".getBytes(UTF_8));
+        assertEquals(
+                asList("", "a", "a/b.txt", "a/hidden.txt", "c.txt", "d.txt"), normalized(names(all(collection))));
+    }
+
+    private static List<String> normalized(List<String> names) {
+        List<String> result = new ArrayList<>();
+        for (String name : names) {
+            result.add(name.replace(File.separatorChar, '/'));
+        }
+        return result;
+    }
+
     private static PlexusIoFileResourceCollection collection(boolean followSymlinks, String include) {
         PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
         collection.setBaseDir(SYMLINKS);
@@ -1,12 +1,15 @@
 package org.codehaus.plexus.components.io.resources;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.codehaus.plexus.components.io.attributes.FileAttributes;
 import org.codehaus.plexus.components.io.functions.InputStreamTransformer;
 import org.junit.jupiter.api.Test;
@@ -112,4 +115,125 @@ void fileResourceWithTransformerSmallFile() throws Exception {
             }
         }
     }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void fileResourceWithTransformerUsesContentBuffers() throws Exception {
+        File testFile = new File(tempDir, "buffered-file.txt");
+        byte[] content = new byte[200000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + (i % 26));
+        }
+        Files.write(testFile.toPath(), content);
+        File spillDir = new File(tempDir, "spill");
+        assertTrue(spillDir.mkdir());
+
+        InputStreamTransformer transformer = (resource, inputStream) -> inputStream;
+        FileAttributes attributes = new FileAttributes(testFile);
+
+        // Larger than the threshold: Spilled to the configured directory
+        ContentBuffers small = new ContentBuffers(Long.MAX_VALUE, 1000, spillDir);
+        PlexusIoFileResource spilled = new PlexusIoFileResource(
+                testFile, testFile.getName(), attributes, attributes, null, transformer, small, TransformMode.EAGER);
+        assertEquals(1, spillDir.list().length);
+        assertEquals(0, small.getMemoryUsed());
+
+        // Within the threshold, and the budget: Kept in memory
+        ContentBuffers large = new ContentBuffers(300000, 1000000, spillDir);
+        PlexusIoFileResource buffered = new PlexusIoFileResource(
+                testFile, testFile.getName(), attributes, attributes, null, transformer, large, TransformMode.EAGER);
+        assertEquals(1, spillDir.list().length);
+        assertEquals(content.length, large.getMemoryUsed());
+
+        // Exceeding the budget: Spilled
+        PlexusIoFileResource overBudget = new PlexusIoFileResource(
+                testFile, testFile.getName(), attributes, attributes, null, transformer, large, TransformMode.EAGER);
+        assertEquals(2, spillDir.list().length);
+        assertEquals(content.length, large.getMemoryUsed());
+
+        for (PlexusIoFileResource resource : new PlexusIoFileResource[] {spilled, buffered, overBudget}) {
+            assertEquals(content.length, resource.getSize());
+            for (int i = 0; i < 2; i++) {
+                try (InputStream is = resource.getContents()) {
+                    assertArrayEquals(content, IOUtils.toByteArray(is));
+                }
+            }
+        }
+
+        // Single bytes are read across the chunks
+        try (InputStream is = buffered.getContents()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            for (int b = is.read(); b != -1; b = is.read()) {
+                bytes.write(b);
+            }
+            assertArrayEquals(content, bytes.toByteArray());
+        }
+
+        // The deprecated stream is a copy of the buffered contents
+        DeferredFileOutputStream inMemory = buffered.getDfos();
+        assertSame(inMemory, buffered.getDfos());
+        assertTrue(inMemory.isInMemory());
+        assertArrayEquals(content, inMemory.getData());
+        DeferredFileOutputStream onDisk = spilled.getDfos();
+        assertFalse(onDisk.isInMemory());
+        assertEquals(spillDir, onDisk.getFile().getParentFile());
+        assertEquals(3, spillDir.list().length);
+
+        // Closing deletes the temporary files, while the contents in memory remain readable
+        small.close();
+        large.close();
+        assertEquals(0, spillDir.list().length);
+        try (InputStream is = buffered.getContents()) {
+            assertArrayEquals(content, IOUtils.toByteArray(is));
+        }
+    }
+
+    @Test
+    void fileResourceWithTransformerInLazyOrStreamingMode() throws Exception {
+        File testFile = new File(tempDir, "lazy-file.txt");
+        Files.write(testFile.toPath(), "Hello, World!".getBytes(StandardCharsets.UTF_8));
+        FileAttributes attributes = new FileAttributes(testFile);
+
+        AtomicInteger transformations = new AtomicInteger();
+        InputStreamTransformer transformer = (resource, inputStream) -> {
+            transformations.incrementAndGet();
+            return inputStream;
+        };
+
+        PlexusIoFileResource lazy = new PlexusIoFileResource(
+                testFile,
+                testFile.getName(),
+                attributes,
+                attributes,
+                null,
+                transformer,
+                ContentBuffers.getDefault(),
+                TransformMode.LAZY);
+        assertEquals(0, transformations.get(), "a lazy resource isn't transformed, until it is read");
+        assertEquals(13, lazy.getSize());
+        for (int i = 0; i < 2; i++) {
+            try (InputStream is = lazy.getContents()) {
+                assertEquals("Hello, World!", IOUtils.toString(is, StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(1, transformations.get());
+
+        transformations.set(0);
+        PlexusIoFileResource streaming = new PlexusIoFileResource(
+                testFile,
+                testFile.getName(),
+                attributes,
+                attributes,
+                null,
+                transformer,
+                ContentBuffers.getDefault(),
+                TransformMode.STREAMING);
+        assertEquals(PlexusIoResource.UNKNOWN_RESOURCE_SIZE, streaming.getSize());
+        for (int i = 0; i < 2; i++) {
+            try (InputStream is = streaming.getContents()) {
+                assertEquals("Hello, World!", IOUtils.toString(is, StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(2, transformations.get(), "a streaming resource is transformed, whenever it is read");
+    }
 }
@@ -58,4 +58,13 @@ void symlinkFile() throws Exception {
         assertEquals(38, r2.getSize());
         PlexusIoResource r3 = ((PlexusIoSymlinkResource) r2).getTarget();
     }
+
+    @Test
+    void createResourceReusesFileAttributes() throws Exception {
+        final File file = new File("pom.xml");
+        FileAttributes attrs = new FileAttributes(file, true);
+        PlexusIoResource r = ResourceFactory.createResource(file, "pom.xml", null, null, attrs, attrs);
+        assertSame(attrs, ((PlexusIoFileResource) r).getFileAttributes());
+        assertEquals(file.length(), r.getSize());
+    }
 }
@@ -0,0 +1,191 @@
+package org.codehaus.plexus.components.io.resources;
+
+import javax.annotation.Nonnull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.codehaus.plexus.components.io.functions.FileSupplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefetchingIteratorTest {
+    @TempDir
+    File tempDir;
+
+    @Test
+    void prefetchingPreservesTheOrderAndContents() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            Files.write(new File(tempDir, String.format("f%02d", i)).toPath(), content(i * 37));
+        }
+        PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
+        collection.setBaseDir(tempDir);
+        collection.setFilenameComparator(String::compareTo);
+        collection.setIncludingEmptyDirectories(false);
+
+        List<String> names = new ArrayList<>();
+        Iterator<PlexusIoResource> it = collection.getPrefetchingResources(8, 1000, 4);
+        while (it.hasNext()) {
+            PlexusIoResource resource = it.next();
+            int index = Integer.parseInt(resource.getName().substring(1));
+            assertArrayEquals(content(index * 37), contentOf(resource));
+            // The contents are read again from the file
+            assertArrayEquals(content(index * 37), contentOf(resource));
+            assertInstanceOf(FileSupplier.class, resource);
+            assertArrayEquals(content(index * 37), transferred(resource));
+            names.add(resource.getName());
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (Iterator<PlexusIoResource> resources = collection.getResources(); resources.hasNext(); ) {
+            expected.add(resources.next().getName());
+        }
+        assertEquals(expected, names);
+    }
+
+    @Test
+    void prefetchingLimitsTheOpenFiles() throws Exception {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        List<PlexusIoResource> resources = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            resources.add(new AbstractPlexusIoResource("r" + i, 0, 0, true, false, true) {
+                @Nonnull
+                public InputStream getContents() {
+                    maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                    return new ByteArrayInputStream(content(10)) {
+                        @Override
+                        public void close() {
+                            open.decrementAndGet();
+                        }
+                    };
+                }
+
+                public URL getURL() {
+                    return null;
+                }
+            });
+        }
+
+        try (PrefetchingIterator it = new PrefetchingIterator(resources.iterator(), 20, 100, 3)) {
+            for (int i = 0; it.hasNext(); i++) {
+                PlexusIoResource resource = it.next();
+                assertEquals("r" + i, resource.getName());
+                assertArrayEquals(content(10), contentOf(resource));
+            }
+        }
+
+        assertEquals(0, open.get());
+        assertTrue(maxOpen.get() <= 3, "at most 3 resources are open at the same time, got " + maxOpen.get());
+        assertThrows(
+                IllegalArgumentException.class, () -> new PrefetchingIterator(resources.iterator(), 20, 100, 0));
+    }
+
+    @Test
+    void skippedResourcesDontExceedTheOpenFiles() throws Exception {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        List<PlexusIoResource> resources = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            resources.add(new AbstractPlexusIoResource("r" + i, 0, 0, true, false, true) {
+                @Nonnull
+                public InputStream getContents() {
+                    maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                    return new ByteArrayInputStream(content(10)) {
+                        @Override
+                        public synchronized int read(byte[] b, int off, int len) {
+                            try {
+                                Thread.sleep(2);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return super.read(b, off, len);
+                        }
+
+                        @Override
+                        public void close() {
+                            open.decrementAndGet();
+                        }
+                    };
+                }
+
+                public URL getURL() {
+                    return null;
+                }
+            });
+        }
+
+        // The consumer moves on, before the prefetches are complete
+        try (PrefetchingIterator it = new PrefetchingIterator(resources.iterator(), 8, 4, 2)) {
+            while (it.hasNext()) {
+                it.next();
+            }
+        }
+
+        assertTrue(maxOpen.get() <= 2, "at most 2 resources are open at the same time, got " + maxOpen.get());
+    }
+
+    @Test
+    void resourcesMayBeReadAfterMovingOn() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            Files.write(new File(tempDir, String.format("f%02d", i)).toPath(), content(i * 97));
+        }
+        PlexusIoFileResourceCollection collection = new PlexusIoFileResourceCollection();
+        collection.setBaseDir(tempDir);
+        collection.setIncludingEmptyDirectories(false);
+
+        // The prefetched bytes are dropped, when the consumer moves on, so the contents are read again
+        List<PlexusIoResource> kept = new ArrayList<>();
+        try (PrefetchingIterator it = (PrefetchingIterator) collection.getPrefetchingResources(4, 100, 2)) {
+            while (it.hasNext()) {
+                kept.add(it.next());
+            }
+        }
+        assertEquals(20, kept.size());
+        for (PlexusIoResource resource : kept) {
+            int index = Integer.parseInt(resource.getName().substring(1));
+            assertArrayEquals(content(index * 97), contentOf(resource));
+        }
+    }
+
+    private static byte[] transferred(PlexusIoResource resource) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ResourceChannels.transferTo(resource, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private static byte[] contentOf(PlexusIoResource resource) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = resource.getContents()) {
+            byte[] buffer = new byte[333];
+            for (int n; (n = in.read(buffer)) != -1; ) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i * 31 + i / 7);
+        }
+        return content;
+    }
+}
@@ -0,0 +1,158 @@
+package org.codehaus.plexus.components.io.resources;
+
+import javax.annotation.Nonnull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+
+import org.codehaus.plexus.components.io.attributes.FileAttributes;
+import org.codehaus.plexus.components.io.functions.ChannelSupplier;
+import org.codehaus.plexus.components.io.functions.ContentSupplier;
+import org.codehaus.plexus.components.io.functions.InputStreamTransformer;
+import org.codehaus.plexus.components.io.resources.proxy.ProxyFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class ResourceChannelsTest {
+    @TempDir
+    File tempDir;
+
+    @Test
+    void fileResourcesTransferTheirContents() throws Exception {
+        byte[] content = content(300000);
+        File file = new File(tempDir, "file.bin");
+        Files.write(file.toPath(), content);
+        FileAttributes attributes = new FileAttributes(file);
+        InputStreamTransformer transformer = (resource, inputStream) -> inputStream;
+
+        ContentBuffers inMemory = new ContentBuffers(Long.MAX_VALUE, Long.MAX_VALUE, null);
+        ContentBuffers spilled = new ContentBuffers(Long.MAX_VALUE, 1000, tempDir);
+        PlexusIoFileResource[] resources = {
+            new PlexusIoFileResource(file, "file.bin", attributes),
+            newResource(file, transformer, inMemory, TransformMode.EAGER),
+            newResource(file, transformer, spilled, TransformMode.LAZY),
+            newResource(file, transformer, ContentBuffers.getDefault(), TransformMode.STREAMING)
+        };
+        for (PlexusIoFileResource resource : resources) {
+            assertArrayEquals(content, transferred(resource));
+            assertArrayEquals(content, transferred(ProxyFactory.createProxy(resource, null)));
+            try (SeekableByteChannel channel = resource.getChannel()) {
+                assertEquals(content.length, channel.size());
+                assertSeekable(content, channel);
+            }
+        }
+    }
+
+    @Test
+    void otherResourcesAreCopiedFromTheirStreams() throws Exception {
+        byte[] content = content(100000);
+        PlexusIoResource resource =
+                new AbstractPlexusIoResource("resource", 0, PlexusIoResource.UNKNOWN_RESOURCE_SIZE, true, false, true) {
+                    @Nonnull
+                    public InputStream getContents() {
+                        return new ByteArrayInputStream(content);
+                    }
+
+                    public URL getURL() {
+                        return null;
+                    }
+                };
+
+        assertArrayEquals(content, transferred(resource));
+        try (SeekableByteChannel channel = ResourceChannels.getChannel(resource)) {
+            assertEquals(content.length, channel.size());
+            assertSeekable(content, channel);
+        }
+
+        // A proxy, which replaces the contents, doesn't use the targets channel
+        byte[] replaced = content(10);
+        PlexusIoResource proxy = ProxyFactory.createProxy(
+                new PlexusIoFileResource(new File("pom.xml"), "pom.xml", new FileAttributes(new File("pom.xml"))),
+                (ContentSupplier) () -> new ByteArrayInputStream(replaced));
+        assertInstanceOf(ChannelSupplier.class, proxy);
+        assertArrayEquals(replaced, transferred(proxy));
+    }
+
+    @Test
+    void overriddenContentsAreNotBypassed() throws Exception {
+        File file = new File(tempDir, "file.bin");
+        Files.write(file.toPath(), content(1000));
+        byte[] replaced = content(100000);
+        PlexusIoFileResource resource = new PlexusIoFileResource(file, "file.bin", new FileAttributes(file)) {
+            @Nonnull
+            @Override
+            public InputStream getContents() {
+                return new ByteArrayInputStream(replaced);
+            }
+
+            @Override
+            public long getSize() {
+                return replaced.length;
+            }
+        };
+
+        assertArrayEquals(replaced, transferred(resource));
+        try (SeekableByteChannel channel = resource.getChannel()) {
+            assertEquals(replaced.length, channel.size());
+            assertSeekable(replaced, channel);
+        }
+        assertFalse(resource.hasFileContents());
+    }
+
+    private static PlexusIoFileResource newResource(
+            File file, InputStreamTransformer transformer, ContentBuffers contentBuffers, TransformMode transformMode)
+            throws IOException {
+        FileAttributes attributes = new FileAttributes(file);
+        return new PlexusIoFileResource(
+                file, file.getName(), attributes, attributes, null, transformer, contentBuffers, transformMode);
+    }
+
+    private static void assertSeekable(byte[] content, SeekableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(100);
+        channel.position(content.length - 150);
+        readFully(channel, buffer);
+        assertEquals(content[content.length - 150], buffer.get(0));
+        channel.position(70000);
+        buffer.clear();
+        readFully(channel, buffer);
+        assertEquals(content[70000], buffer.get(0));
+        assertEquals(content[70099], buffer.get(99));
+        assertEquals(70100, channel.position());
+    }
+
+    private static void readFully(SeekableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                break;
+            }
+        }
+    }
+
+    private static byte[] transferred(PlexusIoResource resource) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = ResourceChannels.transferTo(resource, Channels.newChannel(out));
+        assertEquals(out.size(), count);
+        return out.toByteArray();
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i * 31 + i / 7);
+        }
+        return content;
+    }
+}
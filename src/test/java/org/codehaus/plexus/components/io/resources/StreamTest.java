@@ -0,0 +1,176 @@
+package org.codehaus.plexus.components.io.resources;
+
+import javax.annotation.Nonnull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamTest {
+    private static final int COUNT = 200;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void createExecutor() {
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelForEachConsumesAllResourcesWithBoundedConcurrency() throws Exception {
+        Set<String> names = Collections.synchronizedSet(new TreeSet<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        stream(COUNT).forEach(executor, 3, resource -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep();
+            names.add(resource.getName());
+            running.decrementAndGet();
+        });
+
+        assertEquals(COUNT, names.size());
+        assertEquals(0, running.get(), "forEach returns, when all consumers are complete");
+        assertTrue(maxRunning.get() <= 3, "at most 3 consumers run concurrently, got " + maxRunning.get());
+    }
+
+    @Test
+    void parallelForEachPropagatesTheFailureAndStops() {
+        IOException failure = new IOException("r10");
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger running = new AtomicInteger();
+
+        IOException thrown = assertThrows(
+                IOException.class,
+                () -> stream(COUNT).forEach(executor, 4, resource -> {
+                    running.incrementAndGet();
+                    try {
+                        sleep();
+                        if ("r10".equals(resource.getName())) {
+                            throw failure;
+                        }
+                        consumed.incrementAndGet();
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }));
+
+        assertSame(failure, thrown);
+        assertEquals(0, running.get(), "the running consumers are complete, when the failure is thrown");
+        assertTrue(consumed.get() < COUNT - 1, "no further resources are consumed after a failure");
+    }
+
+    @Test
+    void forEachOrderedConsumesTheResultsInOrder() throws Exception {
+        List<String> results = new ArrayList<>();
+
+        stream(COUNT).forEachOrdered(
+                executor,
+                5,
+                resource -> {
+                    sleep();
+                    return resource.getName().toUpperCase();
+                },
+                (resource, result) -> {
+                    assertEquals(resource.getName().toUpperCase(), result);
+                    results.add(result);
+                });
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            expected.add("R" + i);
+        }
+        assertEquals(expected, results);
+    }
+
+    @Test
+    void forEachConcurrentlyLimitsTheOpenFiles() throws Exception {
+        Set<String> names = Collections.synchronizedSet(new TreeSet<>());
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        Stream stream = resourceConsumer -> {
+            for (int i = 0; i < COUNT; i++) {
+                resourceConsumer.accept(new AbstractPlexusIoResource("r" + i, 0, 0, true, false, true) {
+                    @Nonnull
+                    public InputStream getContents() {
+                        maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                        return new ByteArrayInputStream(new byte[1]) {
+                            @Override
+                            public void close() {
+                                open.decrementAndGet();
+                            }
+                        };
+                    }
+
+                    public URL getURL() {
+                        return null;
+                    }
+                });
+            }
+        };
+
+        stream.forEachConcurrently(50, 2, resource -> {
+            try (InputStream in = resource.getContents()) {
+                sleep();
+                assertEquals(0, in.read());
+            }
+            names.add(resource.getName());
+        });
+
+        assertEquals(COUNT, names.size());
+        assertEquals(0, open.get());
+        assertTrue(maxOpen.get() <= 2, "at most 2 resources are open at the same time, got " + maxOpen.get());
+    }
+
+    private static Stream stream(int count) {
+        return resourceConsumer -> {
+            for (int i = 0; i < count; i++) {
+                resourceConsumer.accept(resource("r" + i));
+            }
+        };
+    }
+
+    private static PlexusIoResource resource(String name) {
+        return new AbstractPlexusIoResource(name, 0, 0, true, false, true) {
+            @Nonnull
+            public InputStream getContents() {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+
+            public URL getURL() {
+                return null;
+            }
+        };
+    }
+
+    private static void sleep() throws IOException {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -21,14 +21,19 @@
 import java.io.Closeable;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
+import org.codehaus.plexus.components.io.fileselectors.FileSelector;
 import org.codehaus.plexus.components.io.resources.AbstractPlexusIoResource;
 import org.codehaus.plexus.components.io.resources.AbstractPlexusIoResourceCollection;
 import org.codehaus.plexus.components.io.resources.PlexusIoResource;
 import org.codehaus.plexus.components.io.resources.Stream;
 import org.junit.jupiter.api.Test;
 
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -113,4 +118,58 @@ public boolean isConcurrentAccessSupported() {
         ((Closeable) resources1).close();
         assertTrue(closeableIterator.closed);
     }
+
+    @Test
+    void excludedSubtreesAreSkipped() throws Exception {
+        final List<PlexusIoResource> source = asList(
+                resource("a.txt", false),
+                resource("target", true),
+                resource("target/b.txt", false),
+                resource("target/sub", true),
+                resource("target/sub/c.txt", false),
+                resource("d.txt", false));
+        PlexusIoProxyResourceCollection resCol =
+                new PlexusIoProxyResourceCollection(new AbstractPlexusIoResourceCollection() {
+                    public Iterator<PlexusIoResource> getResources() {
+                        return source.iterator();
+                    }
+
+                    public Stream stream() {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    public boolean isConcurrentAccessSupported() {
+                        return true;
+                    }
+                });
+        resCol.setExcludes(new String[] {"**/target/**"});
+        final List<String> inspected = new ArrayList<>();
+        resCol.setFileSelectors(new FileSelector[] {
+            fileInfo -> {
+                inspected.add(fileInfo.getName());
+                return true;
+            }
+        });
+
+        List<String> names = new ArrayList<>();
+        for (Iterator<PlexusIoResource> it = resCol.getResources(); it.hasNext(); ) {
+            names.add(it.next().getName());
+        }
+
+        assertEquals(asList("a.txt", "d.txt"), names);
+        assertEquals(asList("a.txt", "d.txt"), inspected);
+    }
+
+    private static PlexusIoResource resource(String name, boolean directory) {
+        return new AbstractPlexusIoResource(name, 123, 22, !directory, directory, true) {
+            @Nonnull
+            public InputStream getContents() {
+                return null;
+            }
+
+            public URL getURL() {
+                return null;
+            }
+        };
+    }
 }
@@ -70,6 +70,23 @@ void createProxyWithSymlinkDestinationSupplierOverride() throws Exception {
         assertEquals("mordor", ((SymlinkDestinationSupplier) proxy).getSymlinkDestination());
     }
 
+    @Test
+    void createProxyKeepsSupplierInterfaces() throws Exception {
+        final Dummy symlink = getDummySymlinkResource();
+        final PlexusIoResource proxy = ProxyFactory.createProxy(symlink, null);
+        assertInstanceOf(SymlinkDestinationSupplier.class, proxy);
+        assertInstanceOf(FileSupplier.class, proxy);
+        assertInstanceOf(ResourceAttributeSupplier.class, proxy);
+        assertSame(symlink.getFile(), ((FileSupplier) proxy).getFile());
+        assertEquals(proxy, symlink);
+        assertEquals(symlink.hashCode(), proxy.hashCode());
+
+        NameSupplier ns = () -> "renamed";
+        final PlexusIoResource renamed = ProxyFactory.createProxy(proxy, ns);
+        assertEquals("renamed", renamed.getName());
+        assertSame(symlink.getFile(), ((FileSupplier) renamed).getFile());
+    }
+
     private PlexusIoFileResource getPomResource() throws IOException {
         final File file = new File("pom.xml");
         PlexusIoResourceAttributes attrs = FileAttributes.uncached(file);